@@ -0,0 +1,46 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.PageRequestOverride;
+import ru.practicum.shareit.booking.model.Status;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Разбор параметров списков: state и from/size. Значения перебираются по кругу,
+ * счётчик не растёт бесконечно и не уходит в отрицательные индексы.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestParametersBenchmark {
+
+    private static final String[] STATES = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED", "UNKNOWN"};
+    private static final int OFFSETS = 1024;
+
+    private int stateCursor;
+    private int offsetCursor;
+
+    @Benchmark
+    public PageRequestOverride pageRequestOf() {
+        offsetCursor = (offsetCursor + 1) % OFFSETS;
+        return PageRequestOverride.of(offsetCursor, 20);
+    }
+
+    @Benchmark
+    public Status statusFrom() {
+        stateCursor = (stateCursor + 1) % STATES.length;
+        return Status.from(STATES[stateCursor]);
+    }
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Горячие пути сервера: мапперы и сериализация ответов списков.
+ * Разбор параметров запроса от размера списка не зависит и измеряется в {@link RequestParametersBenchmark}.
+ * ObjectMapper настраивается так же, как в Spring MVC (Jackson2ObjectMapperBuilder).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServerHotPathBenchmark {
+
+    @Param({"20", "200"})
+    private int listSize;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private List<Booking> bookings;
+    private List<Item> items;
+    private List<Comment> comments;
+    private List<BookingDto> bookingDtos;
+    private List<ItemDtoWithBooking> itemDtos;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.of(2026, 1, 1, 12, 0);
+        bookings = new ArrayList<>(listSize);
+        items = new ArrayList<>(listSize);
+        comments = new ArrayList<>(listSize);
+        for (long i = 1; i <= listSize; i++) {
+            User owner = new User(i, "owner" + i + "@shareit.ru", "Владелец " + i);
+            User booker = new User(i + 10_000, "booker" + i + "@shareit.ru", "Арендатор " + i);
+            Item item = new Item(i, "Дрель " + i, "Аккумуляторная дрель, вариант " + i, true, owner, null);
+            items.add(item);
+            bookings.add(new Booking(i, now.plusHours(i), now.plusHours(i + 2), item, booker, Status.APPROVED));
+            comments.add(new Comment(i, "Отличная дрель, спасибо! " + i, item, booker, now.minusDays(i)));
+        }
+        bookingDtos = new ArrayList<>(listSize);
+        itemDtos = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            bookingDtos.add(BookingMapper.toBookingDto(bookings.get(i)));
+            ItemDtoWithBooking itemDto = ItemMapper.toItemDtoWithBooking(items.get(i));
+            itemDto.setLastBooking(BookingMapper.toBookingDtoForItem(bookings.get(i)));
+            itemDto.getComments().add(CommentMapper.toCommentDto(comments.get(i)));
+            itemDtos.add(itemDto);
+        }
+    }
+
+    @Benchmark
+    public void toBookingDto(Blackhole blackhole) {
+        for (Booking booking : bookings) {
+            blackhole.consume(BookingMapper.toBookingDto(booking));
+        }
+    }
+
+    @Benchmark
+    public void toItemDtoWithBooking(Blackhole blackhole) {
+        for (Item item : items) {
+            blackhole.consume(ItemMapper.toItemDtoWithBooking(item));
+        }
+    }
+
+    @Benchmark
+    public void toCommentDto(Blackhole blackhole) {
+        for (Comment comment : comments) {
+            blackhole.consume(CommentMapper.toCommentDto(comment));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeBookingDtos() throws IOException {
+        return objectMapper.writeValueAsBytes(bookingDtos);
+    }
+
+    @Benchmark
+    public byte[] serializeItemDtosWithBooking() throws IOException {
+        return objectMapper.writeValueAsBytes(itemDtos);
+    }
+}
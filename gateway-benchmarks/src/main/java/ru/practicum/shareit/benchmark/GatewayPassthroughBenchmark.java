@@ -0,0 +1,277 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import ru.practicum.shareit.booking.client.BookingClient;
+import ru.practicum.shareit.booking.dto.Status;
+import ru.practicum.shareit.client.AsyncForwarder;
+import ru.practicum.shareit.client.ConcurrencyLimitProperties;
+import ru.practicum.shareit.client.ConcurrencyLimiter;
+import ru.practicum.shareit.client.ForwardingMode;
+import ru.practicum.shareit.client.HttpClientProperties;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ResponseCacheProperties;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пересылка страницы GET /bookings через BookingClient шлюза: разбор и повторная сериализация Jackson
+ * против передачи тела ответа байтами (shareit-gateway.passthrough=true).
+ * Сервер подменён фабрикой запросов RestTemplate, отдающей страницу в формате BookingDto сервера,
+ * ответ шлюза пишется конвертерами так же, как это делает Spring MVC.
+ * Кэш, объединение запросов и лимит конкуренции выключены, чтобы мерить только пересылку.
+ * Аллокации смотреть с профайлером gc:
+ * java -jar gateway-benchmarks/target/gateway-benchmarks.jar GatewayPassthroughBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GatewayPassthroughBenchmark {
+
+    private static final long USER_ID = 1L;
+
+    @Param({"20", "200", "2000"})
+    private int pageSize;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final List<HttpMessageConverter<?>> converters = List.of(
+            new ByteArrayHttpMessageConverter(), new MappingJackson2HttpMessageConverter(objectMapper));
+    private byte[] page;
+    private BookingClient jacksonClient;
+    private BookingClient passthroughClient;
+    private BufferedOutputMessage output;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 12, 0);
+        List<Map<String, Object>> bookings = new ArrayList<>(pageSize);
+        for (long i = 1; i <= pageSize; i++) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", i % 500 + 1);
+            item.put("name", "Дрель " + i);
+            item.put("description", "Аккумуляторная дрель с двумя батареями и набором свёрл, вариант " + i);
+            item.put("available", true);
+            item.put("owner", user(i % 50 + 1));
+            item.put("requestId", i % 3 == 0 ? i : null);
+            Map<String, Object> booking = new LinkedHashMap<>();
+            booking.put("id", i);
+            booking.put("start", start.plusHours(i));
+            booking.put("end", start.plusHours(i + 2));
+            booking.put("item", item);
+            booking.put("booker", user(i % 200 + 51));
+            booking.put("status", i % 4 == 0 ? Status.REJECTED : Status.APPROVED);
+            bookings.add(booking);
+        }
+        page = objectMapper.writeValueAsBytes(bookings);
+        jacksonClient = client(false);
+        passthroughClient = client(true);
+        output = new BufferedOutputMessage(page.length * 2);
+    }
+
+    @Benchmark
+    public int jacksonRoundTrip() throws IOException {
+        return write(jacksonClient.getAllBookings(USER_ID, Status.ALL, 0, pageSize, null).join());
+    }
+
+    @Benchmark
+    public int passthrough() throws IOException {
+        return write(passthroughClient.getAllBookings(USER_ID, Status.ALL, 0, pageSize, null).join());
+    }
+
+    /**
+     * Поля и их порядок - как у User сервера в ответе /bookings.
+     */
+    private static Map<String, Object> user(long id) {
+        Map<String, Object> user = new LinkedHashMap<>();
+        user.put("id", id);
+        user.put("email", "user" + id + "@shareit.ru");
+        user.put("name", "Пользователь " + id);
+        return user;
+    }
+
+    private BookingClient client(boolean passthrough) {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ResponseCacheProperties cacheProperties = new ResponseCacheProperties();
+        cacheProperties.setEnabled(false);
+        ConcurrencyLimitProperties concurrencyProperties = new ConcurrencyLimitProperties();
+        concurrencyProperties.setEnabled(false);
+        return new BookingClient("http://shareit-server",
+                new RestTemplateBuilder().requestFactory(() -> new PageRequestFactory(page)),
+                new ResponseCache(cacheProperties, new RequestCoalescer(false, meterRegistry), meterRegistry),
+                new AsyncForwarder(ForwardingMode.BLOCKING, passthrough, new HttpClientProperties(),
+                        objectMapper, meterRegistry),
+                new ConcurrencyLimiter(concurrencyProperties, meterRegistry));
+    }
+
+    /**
+     * Запись тела ответа первым подходящим конвертером, как HttpEntityMethodProcessor.
+     */
+    @SuppressWarnings("unchecked")
+    private int write(ResponseEntity<Object> response) throws IOException {
+        output.reset();
+        Object body = response.getBody();
+        for (HttpMessageConverter<?> converter : converters) {
+            if (body != null && converter.canWrite(body.getClass(), MediaType.APPLICATION_JSON)) {
+                ((HttpMessageConverter<Object>) converter).write(body, MediaType.APPLICATION_JSON, output);
+                break;
+            }
+        }
+        return output.body.size();
+    }
+
+    /**
+     * Ответ сервера на любой запрос - одна и та же страница бронирований.
+     */
+    private static class PageRequestFactory implements ClientHttpRequestFactory {
+
+        private final byte[] page;
+
+        PageRequestFactory(byte[] page) {
+            this.page = page;
+        }
+
+        @Override
+        public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) {
+            return new ClientHttpRequest() {
+                private final HttpHeaders headers = new HttpHeaders();
+                private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+                @Override
+                public ClientHttpResponse execute() {
+                    return new PageResponse(page);
+                }
+
+                @Override
+                public OutputStream getBody() {
+                    return body;
+                }
+
+                @Override
+                public String getMethodValue() {
+                    return httpMethod.name();
+                }
+
+                @Override
+                public URI getURI() {
+                    return uri;
+                }
+
+                @Override
+                public HttpHeaders getHeaders() {
+                    return headers;
+                }
+            };
+        }
+    }
+
+    private static class PageResponse implements ClientHttpResponse {
+
+        private final byte[] page;
+        private final HttpHeaders headers = new HttpHeaders();
+
+        PageResponse(byte[] page) {
+            this.page = page;
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setContentLength(page.length);
+        }
+
+        @Override
+        public HttpStatus getStatusCode() {
+            return HttpStatus.OK;
+        }
+
+        @Override
+        public int getRawStatusCode() {
+            return HttpStatus.OK.value();
+        }
+
+        @Override
+        public String getStatusText() {
+            return HttpStatus.OK.getReasonPhrase();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(page);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static class BufferedOutputMessage implements HttpOutputMessage {
+
+        private final ByteArrayOutputStream body;
+        private final HttpHeaders headers = new HttpHeaders();
+
+        BufferedOutputMessage(int size) {
+            this.body = new ByteArrayOutputStream(size);
+        }
+
+        void reset() {
+            body.reset();
+            headers.clear();
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -4,77 +4,108 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.Status;
+import ru.practicum.shareit.client.AsyncForwarder;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ConcurrencyLimiter;
+import ru.practicum.shareit.client.ResponseCache;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
-    private Map<String, Object> parameters;
-
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl,
+                         RestTemplateBuilder builder,
+                         ResponseCache responseCache,
+                         AsyncForwarder asyncForwarder,
+                         ConcurrencyLimiter concurrencyLimiter) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build());
+                        .build(),
+                API_PREFIX,
+                responseCache,
+                asyncForwarder,
+                concurrencyLimiter);
     }
 
-    public ResponseEntity<Object> getAllBookings(
+    public CompletableFuture<ResponseEntity<Object>> getAllBookings(
             long userId,
             Status state,
             Integer from,
-            Integer size) {
-        parameters = Map.of(
+            Integer size,
+            String cursor) {
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of(
+                    "state", state.name(),
+                    "size", size,
+                    "cursor", cursor);
+            return get("?state={state}&size={size}&cursor={cursor}", userId, parameters);
+        }
+        Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size);
         return get("?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getAllBookingItemsUser(
+    public CompletableFuture<ResponseEntity<Object>> getAllBookingItemsUser(
             long userId,
             Status state,
             Integer from,
-            Integer size) {
-        parameters = Map.of(
+            Integer size,
+            String cursor) {
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of(
+                    "state", state.name(),
+                    "size", size,
+                    "cursor", cursor);
+            return get("/owner?state={state}&size={size}&cursor={cursor}", userId, parameters);
+        }
+        Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size);
         return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getBookingById(
+    public CompletableFuture<ResponseEntity<Object>> getBookingById(
             long userId,
             Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> createBooking(
+    public CompletableFuture<ResponseEntity<Object>> createBooking(
             long userId,
             BookingCreateDto requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> patchBooking(
+    public CompletableFuture<ResponseEntity<Object>> createBookings(
+            long userId,
+            List<BookingCreateDto> requestDtos) {
+        return post("/batch", userId, requestDtos);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> patchBooking(
             Long userId,
             Long bookingId,
             Boolean approved) {
-        parameters = Map.of(
+        Map<String, Object> parameters = Map.of(
                 "approved", approved
         );
         return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
     }
 
-    public void removeBookingById(Long bookingId) {
-        delete("/" + bookingId);
+    public CompletableFuture<ResponseEntity<Object>> removeBookingById(Long bookingId) {
+        return delete("/" + bookingId);
     }
 }
@@ -8,56 +8,66 @@ import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.Status;
 import ru.practicum.shareit.exception.BookingException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.ratelimit.RateLimit;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping(path = "/bookings")
 public class BookingController {
 
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private final BookingClient bookingClient;
 
     @GetMapping
-    public ResponseEntity<Object> getAllBookings(
+    @RateLimit("bookings")
+    public CompletableFuture<ResponseEntity<Object>> getAllBookings(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
             @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero int from,
-            @RequestParam(name = "size", defaultValue = "20") @Positive int size) {
+            @RequestParam(name = "size", defaultValue = "20") @Positive int size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
         Status state = Status.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
         if (from < 0 || size <= 0) {
             throw new ValidationException("Переданы некорректные значения from и/или size");
         }
-        return bookingClient.getAllBookings(userId, state, from, size);
+        return bookingClient.getAllBookings(userId, state, from, size, cursor);
     }
 
     @GetMapping(value = "/owner")
-    public ResponseEntity<Object> getAllBookingItemsUser(
+    @RateLimit("bookings")
+    public CompletableFuture<ResponseEntity<Object>> getAllBookingItemsUser(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
             @RequestParam(name = "from", defaultValue = "0") int from,
-            @RequestParam(name = "size", defaultValue = "20") int size) {
+            @RequestParam(name = "size", defaultValue = "20") int size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
         Status state = Status.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
         if (from < 0 || size <= 0) {
             throw new ValidationException("Переданы некорректные значения from и/или size");
         }
-        return bookingClient.getAllBookingItemsUser(userId, state, from, size);
+        return bookingClient.getAllBookingItemsUser(userId, state, from, size, cursor);
     }
 
     @GetMapping(value = "/{bookingId}")
-    public ResponseEntity<Object> getBookingById(
+    public CompletableFuture<ResponseEntity<Object>> getBookingById(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @PathVariable Long bookingId) {
         return bookingClient.getBookingById(userId, bookingId);
     }
 
     @PostMapping
-    public ResponseEntity<Object> createBooking(
+    @RateLimit("bookings-write")
+    public CompletableFuture<ResponseEntity<Object>> createBooking(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @Valid @RequestBody BookingCreateDto bookingDto) {
         if (bookingDto.getEnd().isBefore(bookingDto.getStart())) {
@@ -69,8 +79,20 @@ public class BookingController {
         return bookingClient.createBooking(userId, bookingDto);
     }
 
+    @PostMapping(value = "/batch")
+    @RateLimit("bookings-batch")
+    public CompletableFuture<ResponseEntity<Object>> createBookings(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestBody List<BookingCreateDto> bookingDtos) {
+        if (bookingDtos.isEmpty() || bookingDtos.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException(
+                    String.format("Пакет должен содержать от 1 до %s бронирований.", MAX_BATCH_SIZE));
+        }
+        return bookingClient.createBookings(userId, bookingDtos);
+    }
+
     @PatchMapping(value = "/{bookingId}")
-    public ResponseEntity<Object> patchBooking(
+    public CompletableFuture<ResponseEntity<Object>> patchBooking(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @PathVariable Long bookingId,
             @RequestParam Boolean approved) {
@@ -81,8 +103,8 @@ public class BookingController {
     }
 
     @DeleteMapping("/{bookingId}")
-    public void deleteById(@PathVariable Long bookingId) {
-        bookingClient.removeBookingById(bookingId);
+    public CompletableFuture<ResponseEntity<Object>> deleteById(@PathVariable Long bookingId) {
+        return bookingClient.removeBookingById(bookingId);
     }
 }
 
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ограничение числа одновременных соединений асинхронного режима по настройкам shareit-gateway.http.
+ * java.net.http.HttpClient не умеет ограничивать свой пул, поэтому запрос сверх лимита ждёт
+ * освобождения соединения не дольше connection-request-timeout, не занимая поток.
+ * Метрики совпадают с метриками пула блокирующего режима, тег httpclient=shareit-server-async.
+ */
+class AsyncConnectionPool {
+
+    private final int maxConnections;
+    private final Duration requestTimeout;
+    private final Semaphore connections;
+    private final Queue<Waiter> waiting = new ConcurrentLinkedQueue<>();
+    private final Timer waitTimer;
+
+    AsyncConnectionPool(HttpClientProperties properties, MeterRegistry meterRegistry) {
+        this.maxConnections = Math.min(properties.getMaxConnections(), properties.getMaxConnectionsPerRoute());
+        this.requestTimeout = properties.getConnectionRequestTimeout();
+        this.connections = new Semaphore(maxConnections);
+        this.waitTimer = TimedConnectionManager.waitTimer(meterRegistry);
+        Gauge.builder("httpcomponents.httpclient.pool.total.max", () -> maxConnections)
+                .tag("httpclient", "shareit-server-async")
+                .register(meterRegistry);
+        Gauge.builder("httpcomponents.httpclient.pool.total.connections",
+                        () -> maxConnections - connections.availablePermits())
+                .tag("httpclient", "shareit-server-async")
+                .tag("state", "leased")
+                .register(meterRegistry);
+        Gauge.builder("httpcomponents.httpclient.pool.total.pending", waiting::size)
+                .tag("httpclient", "shareit-server-async")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Завершается, когда соединение выделено; после ответа его нужно вернуть через {@link #release()}.
+     */
+    CompletableFuture<Void> acquire() {
+        if (connections.tryAcquire()) {
+            waitTimer.record(0, TimeUnit.NANOSECONDS);
+            return CompletableFuture.completedFuture(null);
+        }
+        Waiter waiter = new Waiter();
+        waiting.add(waiter);
+        if (connections.tryAcquire()) {
+            // соединение освободилось, пока запрос вставал в очередь
+            if (waiter.grant()) {
+                waiting.remove(waiter);
+            } else {
+                release();
+            }
+            return CompletableFuture.completedFuture(null);
+        }
+        waiter.future.orTimeout(requestTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        return waiter.future.exceptionally(e -> {
+            waiting.remove(waiter);
+            throw new ResourceAccessException(String.format(
+                    "Не удалось получить соединение с сервером за %s мс.", requestTimeout.toMillis()));
+        });
+    }
+
+    /**
+     * Передаёт соединение первому ожидающему запросу, а если очередь пуста - возвращает его в пул.
+     */
+    void release() {
+        Waiter waiter;
+        while ((waiter = waiting.poll()) != null) {
+            if (waiter.grant()) {
+                return;
+            }
+        }
+        connections.release();
+    }
+
+    private class Waiter {
+
+        private final long start = System.nanoTime();
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        boolean grant() {
+            if (!future.complete(null)) {
+                return false;
+            }
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Неблокирующая пересылка запросов на сервер через java.net.http.HttpClient.
+ * Поток Tomcat освобождается сразу, ответ дописывается по завершении CompletableFuture.
+ * Включается свойством shareit-gateway.forwarding=async.
+ * Таймауты и лимит соединений берутся из shareit-gateway.http, как и у пула блокирующего режима;
+ * ожидание соединения пишется в тот же таймер shareit.gateway.http.pool.wait.
+ * Время простоя соединений java.net.http задаётся только на всю JVM, флагом
+ * -Djdk.httpclient.keepalive.timeout=&lt;секунды&gt; (по умолчанию 1200), а не shareit-gateway.http.max-idle-time.
+ * При shareit-gateway.passthrough=true тело ответа сервера отдаётся клиенту байтами, без разбора JSON.
+ */
+@Component
+public class AsyncForwarder {
+
+    private static final Set<String> SKIPPED_HEADERS = Set.of(
+            "connection", "content-length", "keep-alive", "transfer-encoding", "upgrade");
+
+    private final ForwardingMode mode;
+    private final boolean passthrough;
+    private final ObjectMapper objectMapper;
+    private final Duration readTimeout;
+    private final HttpClient httpClient;
+    private final AsyncConnectionPool connectionPool;
+
+    public AsyncForwarder(@Value("${shareit-gateway.forwarding:blocking}") ForwardingMode mode,
+                          @Value("${shareit-gateway.passthrough:false}") boolean passthrough,
+                          HttpClientProperties properties,
+                          ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry) {
+        this.mode = mode;
+        this.passthrough = passthrough;
+        this.objectMapper = objectMapper;
+        this.readTimeout = properties.getReadTimeout();
+        if (mode == ForwardingMode.ASYNC) {
+            this.httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(properties.getConnectTimeout())
+                    .build();
+            this.connectionPool = new AsyncConnectionPool(properties, meterRegistry);
+        } else {
+            this.httpClient = null;
+            this.connectionPool = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return mode == ForwardingMode.ASYNC;
+    }
+
+    public boolean isPassthrough() {
+        return passthrough;
+    }
+
+    public <T> CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, URI uri, HttpHeaders headers,
+                                                                  @Nullable T body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(readTimeout)
+                .method(method.name(), bodyPublisher(body));
+        headers.forEach((name, values) -> values.forEach(value -> request.header(name, value)));
+        return connectionPool.acquire()
+                .thenCompose(connection -> send(request.build()))
+                .thenApply(this::toResponseEntity);
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> send(HttpRequest request) {
+        CompletableFuture<HttpResponse<byte[]>> response;
+        try {
+            response = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (RuntimeException e) {
+            connectionPool.release();
+            throw e;
+        }
+        return response.whenComplete((result, e) -> connectionPool.release());
+    }
+
+    private <T> HttpRequest.BodyPublisher bodyPublisher(@Nullable T body) {
+        if (body == null) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ResponseEntity<Object> toResponseEntity(HttpResponse<byte[]> response) {
+        HttpStatus status = HttpStatus.valueOf(response.statusCode());
+        byte[] body = response.body();
+        if (passthrough) {
+            return ResponseEntity.status(status).headers(copyHeaders(response.headers().map())).body(body);
+        }
+        if (!status.is2xxSuccessful()) {
+            return ResponseEntity.status(status).body(body);
+        }
+        HttpHeaders headers = copyHeaders(response.headers().map());
+        if (body.length == 0) {
+            return ResponseEntity.status(status).headers(headers).build();
+        }
+        try {
+            return ResponseEntity.status(status).headers(headers).body(objectMapper.readValue(body, Object.class));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static HttpHeaders copyHeaders(Map<String, List<String>> source) {
+        HttpHeaders headers = new HttpHeaders();
+        source.forEach((name, values) -> {
+            if (!SKIPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.addAll(name, values);
+            }
+        });
+        return headers;
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "shareit-gateway.concurrency")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Общий предел одновременных запросов шлюза к серверу по всем маршрутам.
+     */
+    private int globalLimit = 400;
+
+    private int initialLimit = 20;
+
+    private int minLimit = 4;
+
+    private int maxLimit = 200;
+
+    /**
+     * Доля лимита, доступная чтению. Остаток зарезервирован для изменяющих запросов.
+     */
+    private double readShare = 0.8;
+
+    /**
+     * Во сколько раз время ответа может превысить обычное, прежде чем лимит будет снижен.
+     */
+    private double latencyTolerance = 2.0;
+
+    private double backoffRatio = 0.9;
+}
@@ -0,0 +1,128 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Адаптивный лимит одновременных запросов шлюза к серверу по маршрутам (AIMD).
+ * Пока время ответа близко к обычному для маршрута, лимит растёт на 1/limit за ответ;
+ * при росте задержки, ошибке или 5xx - умножается на backoffRatio.
+ * Кроме лимитов маршрутов действует общий лимит шлюза. Чтению в обоих доступна только
+ * доля readShare, поэтому всплеск поиска не вытесняет создание бронирований.
+ * Запросы сверх лимита сразу получают 503.
+ */
+@Component
+public class ConcurrencyLimiter {
+
+    private static final double BASELINE_WEIGHT = 0.02;
+
+    private final ConcurrencyLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, RouteLimit> limits = new ConcurrentHashMap<>();
+    private final AtomicInteger totalInFlight = new AtomicInteger();
+
+    public ConcurrencyLimiter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gauge("shareit.gateway.concurrency.in-flight", Tags.of("route", "*"), totalInFlight);
+    }
+
+    public Permit acquire(String apiPrefix, String path, HttpMethod method) {
+        if (!properties.isEnabled()) {
+            return Permit.NOOP;
+        }
+        String route = ResponseCache.route(apiPrefix, path);
+        RouteLimit limit = limits.computeIfAbsent(route, this::newRouteLimit);
+        double share = method == HttpMethod.GET ? properties.getReadShare() : 1.0;
+        if (!tryAcquire(totalInFlight, properties.getGlobalLimit() * share)) {
+            throw shed(route, method);
+        }
+        if (!tryAcquire(limit.inFlight, limit.limit * share)) {
+            totalInFlight.decrementAndGet();
+            throw shed(route, method);
+        }
+        long start = System.nanoTime();
+        return success -> {
+            totalInFlight.decrementAndGet();
+            limit.release(System.nanoTime() - start, success);
+        };
+    }
+
+    private static boolean tryAcquire(AtomicInteger inFlight, double limit) {
+        int allowed = Math.max(1, (int) limit);
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private ServiceUnavailableException shed(String route, HttpMethod method) {
+        meterRegistry.counter("shareit.gateway.concurrency.shed", "route", route, "method", method.name()).increment();
+        return new ServiceUnavailableException(
+                String.format("Сервер перегружен, запрос %s %s отклонён.", method.name(), route));
+    }
+
+    private RouteLimit newRouteLimit(String route) {
+        RouteLimit limit = new RouteLimit(properties);
+        meterRegistry.gauge("shareit.gateway.concurrency.limit",
+                Tags.of("route", route), limit, RouteLimit::getLimit);
+        meterRegistry.gauge("shareit.gateway.concurrency.in-flight",
+                Tags.of("route", route), limit, l -> l.inFlight.get());
+        return limit;
+    }
+
+    @FunctionalInterface
+    public interface Permit {
+
+        Permit NOOP = success -> { };
+
+        void release(boolean success);
+    }
+
+    private static class RouteLimit {
+
+        private final ConcurrencyLimitProperties properties;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile double limit;
+        private double baselineNanos;
+
+        RouteLimit(ConcurrencyLimitProperties properties) {
+            this.properties = properties;
+            this.limit = properties.getInitialLimit();
+        }
+
+        double getLimit() {
+            return limit;
+        }
+
+        void release(long rttNanos, boolean success) {
+            int current = inFlight.getAndDecrement();
+            synchronized (this) {
+                if (baselineNanos == 0) {
+                    baselineNanos = rttNanos;
+                }
+                boolean slow = rttNanos > baselineNanos * properties.getLatencyTolerance();
+                if (!success || slow) {
+                    limit = Math.max(properties.getMinLimit(), limit * properties.getBackoffRatio());
+                } else if (current >= limit / 2) {
+                    limit = Math.min(properties.getMaxLimit(), limit + 1 / limit);
+                }
+                if (success) {
+                    baselineNanos += (rttNanos - baselineNanos) * BASELINE_WEIGHT;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "shareit-gateway.http")
+public class HttpClientProperties {
+
+    private int maxConnections = 200;
+
+    private int maxConnectionsPerRoute = 100;
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    private Duration readTimeout = Duration.ofSeconds(30);
+
+    private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+}
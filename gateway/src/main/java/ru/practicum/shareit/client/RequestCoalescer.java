@@ -0,0 +1,78 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Объединение одинаковых одновременных GET-запросов (singleflight): первый запрос уходит на сервер,
+ * остальные с тем же ключом ждут его ответ. Ключ строит {@link ResponseCache}: X-Sharer-User-Id
+ * входит в него только там, где ответ сервера зависит от пользователя.
+ */
+@Component
+public class RequestCoalescer {
+
+    private final boolean enabled;
+    private final ConcurrentMap<String, CompletableFuture<ResponseEntity<Object>>> inFlight = new ConcurrentHashMap<>();
+    private final Counter forwarded;
+    private final Counter collapsed;
+
+    public RequestCoalescer(@Value("${shareit-gateway.coalescing.enabled:true}") boolean enabled,
+                            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.forwarded = Counter.builder("shareit.gateway.coalescing.calls")
+                .description("GET-запросы, отправленные на сервер")
+                .tag("result", "forwarded")
+                .register(meterRegistry);
+        this.collapsed = Counter.builder("shareit.gateway.coalescing.calls")
+                .description("GET-запросы, получившие ответ уже выполняющегося запроса")
+                .tag("result", "collapsed")
+                .register(meterRegistry);
+        meterRegistry.gaugeMapSize("shareit.gateway.coalescing.in-flight", Tags.empty(), inFlight);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> execute(String key,
+                                                             Supplier<CompletableFuture<ResponseEntity<Object>>> request) {
+        if (!enabled) {
+            return request.get();
+        }
+        CompletableFuture<ResponseEntity<Object>> promise = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> existing = inFlight.putIfAbsent(key, promise);
+        if (existing != null) {
+            collapsed.increment();
+            return existing;
+        }
+        forwarded.increment();
+        try {
+            request.get().whenComplete((response, e) -> {
+                inFlight.remove(key, promise);
+                if (e != null) {
+                    promise.completeExceptionally(e);
+                } else {
+                    promise.complete(response);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, promise);
+            promise.completeExceptionally(e);
+        }
+        return promise;
+    }
+
+    /**
+     * Новые запросы с подходящими ключами не присоединяются к уже начатым,
+     * чтобы после изменения данных не получить ответ, прочитанный до него.
+     */
+    public void forget(Predicate<String> keys) {
+        inFlight.keySet().removeIf(keys);
+    }
+}
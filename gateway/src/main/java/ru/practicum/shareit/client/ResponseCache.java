@@ -0,0 +1,212 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Кэш успешных GET-ответов сервера. Ключ - маршрут, путь, параметры и область видимости ответа:
+ * X-Sharer-User-Id, если ответ сервера зависит от пользователя, и общая область, если не зависит.
+ * Вещь все, кроме владельца, видят одинаково, поэтому владелец запоминается из заголовка ответа сервера.
+ * Любой изменяющий запрос через шлюз сбрасывает ответы затронутых ресурсов.
+ * Промахи кэша и некэшируемые маршруты проходят через {@link RequestCoalescer}.
+ * Ключи хранятся в индексе по маршруту, а поколение маршрута не даёт сохранить ответ,
+ * прочитанный до сброса.
+ */
+@Component
+public class ResponseCache {
+
+    static final String OWNER_HEADER = "X-Item-Owner-Id";
+
+    private static final String ITEM_ROUTE = "/items/*";
+
+    private static final Map<String, List<String>> AFFECTED_PREFIXES = Map.of(
+            "/users", List.of("/users", "/items", "/bookings", "/requests"),
+            "/items", List.of("/items", "/bookings", "/requests"),
+            "/bookings", List.of("/bookings", "/items"),
+            "/requests", List.of("/requests"));
+
+    private final ResponseCacheProperties properties;
+    private final RequestCoalescer requestCoalescer;
+    private final Cache<String, CachedResponse> cache;
+    private final Map<String, Set<String>> keysByPrefix = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final Cache<String, Long> ownersByItemPath;
+
+    public ResponseCache(ResponseCacheProperties properties, RequestCoalescer requestCoalescer,
+                         MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.requestCoalescer = requestCoalescer;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new Expiry<String, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedResponse value, long currentTime) {
+                        return value.ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResponse value, long currentTime,
+                                                  long currentDuration) {
+                        return value.ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedResponse value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .evictionListener((String key, CachedResponse value, RemovalCause cause) -> {
+                    if (key != null && value != null) {
+                        keys(value.apiPrefix).remove(key);
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway-responses");
+        this.ownersByItemPath = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .build();
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> get(String apiPrefix, String path, @Nullable Long userId,
+                                                         @Nullable Map<String, Object> parameters,
+                                                         Supplier<CompletableFuture<ResponseEntity<Object>>> request) {
+        String route = route(apiPrefix, path);
+        String key = key(apiPrefix, path, scope(route, path, userId), parameters);
+        if (ITEM_ROUTE.equals(route)) {
+            Supplier<CompletableFuture<ResponseEntity<Object>>> itemRequest = request;
+            request = () -> itemRequest.get().thenApply(response -> rememberOwner(path, response));
+        }
+        Duration ttl = properties.isEnabled() ? properties.getTtl().get(route) : null;
+        if (ttl == null || ttl.isZero() || ttl.isNegative()) {
+            return requestCoalescer.execute(key, request);
+        }
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached.response);
+        }
+        AtomicLong generation = generation(apiPrefix);
+        long readGeneration = generation.get();
+        return requestCoalescer.execute(key, request).thenApply(response -> {
+            if (response.getStatusCode().is2xxSuccessful() && generation.get() == readGeneration) {
+                put(apiPrefix, key, new CachedResponse(apiPrefix, response, ttl.toNanos()), generation, readGeneration);
+            }
+            return response;
+        });
+    }
+
+    public void invalidate(String apiPrefix) {
+        for (String prefix : AFFECTED_PREFIXES.getOrDefault(apiPrefix, List.of(apiPrefix))) {
+            generation(prefix).incrementAndGet();
+            Predicate<String> affected = key -> key.startsWith(prefix + "/")
+                    || key.startsWith(prefix + "?")
+                    || key.startsWith(prefix + " ");
+            requestCoalescer.forget(affected);
+            Set<String> keys = keys(prefix);
+            for (String key : keys) {
+                keys.remove(key);
+                cache.invalidate(key);
+            }
+        }
+    }
+
+    /**
+     * Ключ попадает в индекс в той же атомарной операции, что и ответ в кэш.
+     * Если сброс прошёл, пока ответ сохранялся, ответ удаляется.
+     */
+    private void put(String apiPrefix, String key, CachedResponse value, AtomicLong generation, long readGeneration) {
+        cache.asMap().compute(key, (k, old) -> {
+            keys(apiPrefix).add(k);
+            return value;
+        });
+        if (generation.get() != readGeneration) {
+            cache.asMap().remove(key, value);
+        }
+    }
+
+    private Set<String> keys(String apiPrefix) {
+        return keysByPrefix.computeIfAbsent(apiPrefix, prefix -> ConcurrentHashMap.newKeySet());
+    }
+
+    private AtomicLong generation(String apiPrefix) {
+        return generations.computeIfAbsent(apiPrefix, prefix -> new AtomicLong());
+    }
+
+    /**
+     * Запросы без пользователя и запросы вещи не-владельцами получают одинаковый ответ.
+     * Пока владелец вещи неизвестен, ответ считается зависящим от пользователя.
+     */
+    private String scope(String route, String path, @Nullable Long userId) {
+        if (userId == null) {
+            return "all";
+        }
+        if (ITEM_ROUTE.equals(route)) {
+            Long ownerId = ownersByItemPath.getIfPresent(path);
+            if (ownerId != null && !ownerId.equals(userId)) {
+                return "non-owner";
+            }
+        }
+        return "user=" + userId;
+    }
+
+    private ResponseEntity<Object> rememberOwner(String path, ResponseEntity<Object> response) {
+        String ownerId = response.getHeaders().getFirst(OWNER_HEADER);
+        if (ownerId != null) {
+            ownersByItemPath.put(path, Long.valueOf(ownerId));
+        }
+        return response;
+    }
+
+    static String key(String apiPrefix, String path, String scope, @Nullable Map<String, Object> parameters) {
+        StringBuilder key = new StringBuilder(apiPrefix).append(path);
+        if (parameters != null) {
+            key.append(' ').append(new TreeMap<>(parameters));
+        }
+        return key.append(' ').append(scope).toString();
+    }
+
+    static String route(String apiPrefix, String path) {
+        int query = path.indexOf('?');
+        String route = query < 0 ? path : path.substring(0, query);
+        StringBuilder normalized = new StringBuilder(apiPrefix);
+        for (String segment : route.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            normalized.append('/').append(segment.chars().allMatch(Character::isDigit) ? "*" : segment);
+        }
+        return normalized.toString();
+    }
+
+    private static class CachedResponse {
+
+        private final String apiPrefix;
+        private final ResponseEntity<Object> response;
+        private final long ttlNanos;
+
+        CachedResponse(String apiPrefix, ResponseEntity<Object> response, long ttlNanos) {
+            this.apiPrefix = apiPrefix;
+            this.response = response;
+            this.ttlNanos = ttlNanos;
+        }
+    }
+}
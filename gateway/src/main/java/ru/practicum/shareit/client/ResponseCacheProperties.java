@@ -0,0 +1,25 @@
+package ru.practicum.shareit.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "shareit-gateway.cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+
+    private long maximumSize = 10_000;
+
+    /**
+     * Время жизни ответа по маршруту, например "/items/search" или "/users/*".
+     * Ответы маршрутов без TTL не кэшируются.
+     */
+    private Map<String, Duration> ttl = new HashMap<>();
+}
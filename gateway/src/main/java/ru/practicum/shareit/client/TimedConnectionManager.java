@@ -0,0 +1,56 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пул соединений шлюза с сервером, замеряющий время ожидания свободного соединения.
+ */
+public class TimedConnectionManager extends PoolingHttpClientConnectionManager {
+
+    private final Timer waitTimer;
+
+    public TimedConnectionManager(MeterRegistry meterRegistry) {
+        this.waitTimer = waitTimer(meterRegistry);
+    }
+
+    /**
+     * Таймер ожидания соединения, общий для блокирующего и асинхронного режимов.
+     */
+    static Timer waitTimer(MeterRegistry meterRegistry) {
+        return Timer.builder("shareit.gateway.http.pool.wait")
+                .description("Время ожидания соединения из пула")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+        ConnectionRequest request = super.requestConnection(route, state);
+        return new ConnectionRequest() {
+            @Override
+            public HttpClientConnection get(long timeout, TimeUnit timeUnit)
+                    throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                long start = System.nanoTime();
+                try {
+                    return request.get(timeout, timeUnit);
+                } finally {
+                    waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return request.cancel();
+            }
+        };
+    }
+}
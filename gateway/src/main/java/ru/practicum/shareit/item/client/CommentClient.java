@@ -4,27 +4,38 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.client.AsyncForwarder;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ConcurrencyLimiter;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.item.dto.CommentDto;
 
+import java.util.concurrent.CompletableFuture;
+
 @Service
 public class CommentClient extends BaseClient {
 
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public CommentClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public CommentClient(@Value("${shareit-server.url}") String serverUrl,
+                         RestTemplateBuilder builder,
+                         ResponseCache responseCache,
+                         AsyncForwarder asyncForwarder,
+                         ConcurrencyLimiter concurrencyLimiter) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build());
+                        .build(),
+                API_PREFIX,
+                responseCache,
+                asyncForwarder,
+                concurrencyLimiter);
     }
 
-    public ResponseEntity<Object> createComment(
+    public CompletableFuture<ResponseEntity<Object>> createComment(
             Long userId,
             Long itemId,
             CommentDto commentDto) {
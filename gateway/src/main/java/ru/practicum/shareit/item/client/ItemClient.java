@@ -4,47 +4,56 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.client.AsyncForwarder;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ConcurrencyLimiter;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
-    private Map<String, Object> parameters;
-
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl,
+                      RestTemplateBuilder builder,
+                      ResponseCache responseCache,
+                      AsyncForwarder asyncForwarder,
+                      ConcurrencyLimiter concurrencyLimiter) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build());
+                        .build(),
+                API_PREFIX,
+                responseCache,
+                asyncForwarder,
+                concurrencyLimiter);
     }
 
-    public ResponseEntity<Object> getAllItems(
+    public CompletableFuture<ResponseEntity<Object>> getAllItems(
             long userId,
             Integer from,
             Integer size) {
-        parameters = Map.of(
+        Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size);
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getItemById(
+    public CompletableFuture<ResponseEntity<Object>> getItemById(
             long userId,
             Long itemId) {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> getItemSearch(
+    public CompletableFuture<ResponseEntity<Object>> getItemSearch(
             String text,
             Integer from,
             Integer size) {
@@ -54,20 +63,35 @@ public class ItemClient extends BaseClient {
         return get("/search?text=" + text + "&from=" + from);
     }
 
-    public ResponseEntity<Object> createItem(
+    public CompletableFuture<ResponseEntity<Object>> getItemSuggest(
+            String prefix,
+            Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "prefix", prefix,
+                "size", size);
+        return get("/suggest?prefix={prefix}&size={size}", null, parameters);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> createItem(
             ItemDto itemDto,
             long userId) {
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> patchItem(
+    public CompletableFuture<ResponseEntity<Object>> createItems(
+            List<ItemDto> itemDtos,
+            long userId) {
+        return post("/batch", userId, itemDtos);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> patchItem(
             ItemDto itemDto,
             Long userId,
             Long itemId) {
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public void removeItemById(Long itemId) {
-        delete("/" + itemId);
+    public CompletableFuture<ResponseEntity<Object>> removeItemById(Long itemId) {
+        return delete("/" + itemId);
     }
 }
@@ -8,18 +8,23 @@ import ru.practicum.shareit.item.client.CommentClient;
 import ru.practicum.shareit.item.client.ItemClient;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.ratelimit.RateLimit;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/items")
 @RequiredArgsConstructor
 public class ItemController {
 
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private final ItemClient itemClient;
     private final CommentClient commentClient;
 
     @GetMapping
-    public ResponseEntity<Object> getAllItems(
+    public CompletableFuture<ResponseEntity<Object>> getAllItems(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(name = "from", defaultValue = "0") int from,
             @RequestParam(name = "size", defaultValue = "20") int size) {
@@ -30,14 +35,15 @@ public class ItemController {
     }
 
     @GetMapping(value = "/{itemId}")
-    public ResponseEntity<Object> getItemById(
+    public CompletableFuture<ResponseEntity<Object>> getItemById(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @PathVariable Long itemId) {
         return itemClient.getItemById(userId, itemId);
     }
 
     @GetMapping(value = "/search")
-    public ResponseEntity<Object> getItemSearch(
+    @RateLimit("items-search")
+    public CompletableFuture<ResponseEntity<Object>> getItemSearch(
             @RequestParam(name = "text") String text,
             @RequestParam(name = "from", defaultValue = "0") int from,
             @RequestParam(name = "size", defaultValue = "20") int size) {
@@ -47,8 +53,19 @@ public class ItemController {
         return itemClient.getItemSearch(text, from, size);
     }
 
+    @GetMapping(value = "/suggest")
+    @RateLimit("items-search")
+    public CompletableFuture<ResponseEntity<Object>> getItemSuggest(
+            @RequestParam(name = "prefix") String prefix,
+            @RequestParam(name = "size", defaultValue = "10") int size) {
+        if (size <= 0) {
+            throw new ValidationException("Передано некорректное значение size");
+        }
+        return itemClient.getItemSuggest(prefix, size);
+    }
+
     @PostMapping
-    public ResponseEntity<Object> createItem(
+    public CompletableFuture<ResponseEntity<Object>> createItem(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestBody ItemDto itemDto) {
 
@@ -58,8 +75,19 @@ public class ItemController {
         return itemClient.createItem(itemDto, userId);
     }
 
+    @PostMapping(value = "/batch")
+    @RateLimit("items-batch")
+    public CompletableFuture<ResponseEntity<Object>> createItems(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestBody List<ItemDto> itemDtos) {
+        if (itemDtos.isEmpty() || itemDtos.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException(String.format("Пакет должен содержать от 1 до %s вещей.", MAX_BATCH_SIZE));
+        }
+        return itemClient.createItems(itemDtos, userId);
+    }
+
     @PostMapping(value = "/{itemId}/comment")
-    public ResponseEntity<Object> createComment(
+    public CompletableFuture<ResponseEntity<Object>> createComment(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @PathVariable Long itemId,
             @RequestBody CommentDto commentDto) {
@@ -70,12 +98,12 @@ public class ItemController {
     }
 
     @DeleteMapping(value = "/{itemId}")
-    public void removeItem(@PathVariable Long itemId) {
-        itemClient.removeItemById(itemId);
+    public CompletableFuture<ResponseEntity<Object>> removeItem(@PathVariable Long itemId) {
+        return itemClient.removeItemById(itemId);
     }
 
     @PatchMapping(value = "/{itemId}")
-    public ResponseEntity<Object> patchItem(
+    public CompletableFuture<ResponseEntity<Object>> patchItem(
             @RequestBody ItemDto itemDto,
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @PathVariable Long itemId) {
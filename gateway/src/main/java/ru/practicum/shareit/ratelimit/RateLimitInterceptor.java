@@ -0,0 +1,68 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.practicum.shareit.exception.TooManyRequestsException;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Проверяет лимит {@link RateLimit} до пересылки запроса на сервер.
+ * Корзины хранятся по паре пользователь + лимит; неактивные вытесняются.
+ * Запросы без X-Sharer-User-Id считаются по адресу клиента.
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, TokenBucket> buckets;
+
+    public RateLimitInterceptor(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumBuckets())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "gateway-rate-limit-buckets");
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!properties.isEnabled() || request.getDispatcherType() == DispatcherType.ASYNC
+                || !(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        RateLimit rateLimit = ((HandlerMethod) handler).getMethodAnnotation(RateLimit.class);
+        if (rateLimit == null) {
+            return true;
+        }
+        String userId = request.getHeader("X-Sharer-User-Id");
+        String client = userId != null ? "user:" + userId : "addr:" + request.getRemoteAddr();
+        TokenBucket bucket = buckets.get(rateLimit.value() + " " + client, key -> newBucket(rateLimit.value()));
+        long waitNanos = bucket.tryAcquire();
+        if (waitNanos > 0) {
+            meterRegistry.counter("shareit.gateway.rate-limit.rejected", "limit", rateLimit.value()).increment();
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            throw new TooManyRequestsException(
+                    String.format("Превышен лимит запросов %s, повторите через %d с.", rateLimit.value(), retryAfter),
+                    retryAfter);
+        }
+        return true;
+    }
+
+    private TokenBucket newBucket(String name) {
+        RateLimitProperties.Limit limit = properties.getLimits().getOrDefault(name, properties.getDefaultLimit());
+        return new TokenBucket(limit.getCapacity(), limit.getRefillPerSecond());
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "shareit-gateway.rate-limit")
+@Validated
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    private long maximumBuckets = 100_000;
+
+    /**
+     * Корзина удаляется, если к ней не обращались дольше этого времени.
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    @Valid
+    private Limit defaultLimit = new Limit();
+
+    private Map<String, @Valid Limit> limits = new HashMap<>();
+
+    @Data
+    public static class Limit {
+
+        /**
+         * Максимальное число запросов подряд.
+         */
+        @Positive
+        private int capacity = 50;
+
+        @Positive
+        private double refillPerSecond = 20;
+    }
+}
@@ -4,50 +4,71 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.client.AsyncForwarder;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ConcurrencyLimiter;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
-    private Map<String, Object> parameters;
-
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl,
+                             RestTemplateBuilder builder,
+                             ResponseCache responseCache,
+                             AsyncForwarder asyncForwarder,
+                             ConcurrencyLimiter concurrencyLimiter) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build());
+                        .build(),
+                API_PREFIX,
+                responseCache,
+                asyncForwarder,
+                concurrencyLimiter);
     }
 
-    public ResponseEntity<Object> getAllItemRequest(long userId) {
-        return get("", userId);
+    public CompletableFuture<ResponseEntity<Object>> getAllItemRequest(
+            long userId,
+            Integer from,
+            Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size);
+        return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getItemRequestById(
+    public CompletableFuture<ResponseEntity<Object>> getItemRequestById(
             long userId,
             long requestId) {
         return get("/" + requestId, userId);
     }
 
-    public ResponseEntity<Object> getItemRequestOtherUsers(
+    public CompletableFuture<ResponseEntity<Object>> getItemRequestOtherUsers(
             long userId,
             Integer from,
-            Integer size) {
-        parameters = Map.of(
+            Integer size,
+            String cursor) {
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of(
+                    "size", size,
+                    "cursor", cursor);
+            return get("/all?size={size}&cursor={cursor}", userId, parameters);
+        }
+        Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size);
         return get("/all?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> createItemRequest(
+    public CompletableFuture<ResponseEntity<Object>> createItemRequest(
             Long userId,
             ItemRequestDto itemRequestDto) {
         return post("", userId, itemRequestDto);
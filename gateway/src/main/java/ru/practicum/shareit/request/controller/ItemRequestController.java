@@ -7,6 +7,7 @@ import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.request.client.ItemRequestClient;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping(path = "/requests")
@@ -16,30 +17,37 @@ public class ItemRequestController {
     private final ItemRequestClient itemRequestClient;
 
     @GetMapping
-    public ResponseEntity<Object> getAllItemRequest(@RequestHeader("X-Sharer-User-Id") Long userId) {
-        return itemRequestClient.getAllItemRequest(userId);
+    public CompletableFuture<ResponseEntity<Object>> getAllItemRequest(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(name = "from", defaultValue = "0") int from,
+            @RequestParam(name = "size", defaultValue = "20") int size) {
+        if (from < 0 || size <= 0) {
+            throw new ValidationException("Переданы некорректные значения from и/или size");
+        }
+        return itemRequestClient.getAllItemRequest(userId, from, size);
     }
 
     @GetMapping(value = "/{requestId}")
-    private ResponseEntity<Object> getItemRequestById(
+    private CompletableFuture<ResponseEntity<Object>> getItemRequestById(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @PathVariable Long requestId) {
         return itemRequestClient.getItemRequestById(userId, requestId);
     }
 
     @GetMapping(value = "/all")
-    private ResponseEntity<Object> getItemRequestOtherUsers(
+    private CompletableFuture<ResponseEntity<Object>> getItemRequestOtherUsers(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(name = "from", defaultValue = "0") int from,
-            @RequestParam(name = "size", defaultValue = "20") int size) {
+            @RequestParam(name = "size", defaultValue = "20") int size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
         if (from < 0 || size <= 0) {
             throw new ValidationException("Переданы некорректные значения from и/или size");
         }
-        return itemRequestClient.getItemRequestOtherUsers(userId, from, size);
+        return itemRequestClient.getItemRequestOtherUsers(userId, from, size, cursor);
     }
 
     @PostMapping
-    public ResponseEntity<Object> createItemRequest(
+    public CompletableFuture<ResponseEntity<Object>> createItemRequest(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestBody ItemRequestDto itemRequestDto) {
         if (itemRequestDto.getDescription() == null) {
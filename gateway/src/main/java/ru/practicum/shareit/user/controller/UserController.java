@@ -7,6 +7,7 @@ import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.user.client.UserClient;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping(path = "/users")
@@ -16,17 +17,17 @@ public class UserController {
     private final UserClient userClient;
 
     @GetMapping
-    public ResponseEntity<Object> getAllUsers() {
+    public CompletableFuture<ResponseEntity<Object>> getAllUsers() {
         return userClient.getAllUsers();
     }
 
     @GetMapping(value = "/{id}")
-    public ResponseEntity<Object> getUserById(@PathVariable Long id) {
+    public CompletableFuture<ResponseEntity<Object>> getUserById(@PathVariable Long id) {
         return userClient.getUserById(id);
     }
 
     @PostMapping
-    public ResponseEntity<Object> createUser(@RequestBody UserDto userDto) {
+    public CompletableFuture<ResponseEntity<Object>> createUser(@RequestBody UserDto userDto) {
         if (userDto.getEmail() == null) {
             throw new ValidationException("E-mail не должен быть пустым.");
         }
@@ -37,12 +38,12 @@ public class UserController {
     }
 
     @DeleteMapping(value = "/{id}")
-    public void removeUser(@PathVariable Long id) {
-        userClient.removeUser(id);
+    public CompletableFuture<ResponseEntity<Object>> removeUser(@PathVariable Long id) {
+        return userClient.removeUser(id);
     }
 
     @PatchMapping(value = "/{id}")
-    public ResponseEntity<Object> patchUser(
+    public CompletableFuture<ResponseEntity<Object>> patchUser(
             @RequestBody UserDto userDto,
             @PathVariable Long id) {
         return userClient.patchUser(userDto, id);
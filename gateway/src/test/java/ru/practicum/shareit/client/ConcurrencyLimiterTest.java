@@ -0,0 +1,111 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrencyLimiterTest {
+
+    private final ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void createLimiter() {
+        properties.setInitialLimit(4);
+        properties.setMinLimit(2);
+        properties.setMaxLimit(10);
+        properties.setReadShare(0.5);
+        properties.setBackoffRatio(0.5);
+        limiter = new ConcurrencyLimiter(properties, meterRegistry);
+    }
+
+    @Test
+    void shedsReadsAboveReadShare() {
+        limiter.acquire("/items", "/search", HttpMethod.GET);
+        limiter.acquire("/items", "/search", HttpMethod.GET);
+
+        assertThrows(ServiceUnavailableException.class, () -> limiter.acquire("/items", "/search", HttpMethod.GET));
+        limiter.acquire("/items", "/search", HttpMethod.POST);
+        limiter.acquire("/items", "/search", HttpMethod.POST);
+        assertThrows(ServiceUnavailableException.class, () -> limiter.acquire("/items", "/search", HttpMethod.POST));
+        assertEquals(2, meterRegistry.get("shareit.gateway.concurrency.shed").counters().size());
+    }
+
+    @Test
+    void releaseFreesPermit() {
+        ConcurrencyLimiter.Permit first = limiter.acquire("/items", "/1", HttpMethod.GET);
+        limiter.acquire("/items", "/2", HttpMethod.GET);
+        assertThrows(ServiceUnavailableException.class, () -> limiter.acquire("/items", "/3", HttpMethod.GET));
+
+        first.release(true);
+
+        limiter.acquire("/items", "/3", HttpMethod.GET);
+    }
+
+    @Test
+    void globalLimitAppliesAcrossRoutes() {
+        properties.setGlobalLimit(3);
+        limiter.acquire("/items", "", HttpMethod.POST);
+        limiter.acquire("/bookings", "", HttpMethod.POST);
+        limiter.acquire("/users", "", HttpMethod.POST);
+
+        assertThrows(ServiceUnavailableException.class, () -> limiter.acquire("/requests", "", HttpMethod.POST));
+    }
+
+    @Test
+    void failureDecreasesLimitMultiplicatively() {
+        limiter.acquire("/items", "", HttpMethod.POST).release(false);
+        assertEquals(2.0, limit("/items"));
+
+        // второй отказ упирается в min-limit
+        limiter.acquire("/items", "", HttpMethod.POST).release(false);
+        assertEquals(2.0, limit("/items"));
+    }
+
+    @Test
+    void successUnderLoadIncreasesLimitAdditively() {
+        properties.setLatencyTolerance(1_000);
+        ConcurrencyLimiter.Permit first = limiter.acquire("/items", "", HttpMethod.POST);
+        ConcurrencyLimiter.Permit second = limiter.acquire("/items", "", HttpMethod.POST);
+
+        first.release(true);
+        assertEquals(4.25, limit("/items"));
+        // второй ответ пришёл, когда занято меньше половины лимита: рост не нужен
+        second.release(true);
+        assertEquals(4.25, limit("/items"));
+    }
+
+    @Test
+    void slowResponseDecreasesLimit() throws InterruptedException {
+        limiter.acquire("/items", "", HttpMethod.POST).release(true);
+        ConcurrencyLimiter.Permit slow = limiter.acquire("/items", "", HttpMethod.POST);
+        TimeUnit.MILLISECONDS.sleep(50);
+
+        slow.release(true);
+
+        assertTrue(limit("/items") < 4.0);
+    }
+
+    @Test
+    void disabledLimiterAdmitsEverything() {
+        properties.setEnabled(false);
+
+        for (int i = 0; i < 100; i++) {
+            assertSame(ConcurrencyLimiter.Permit.NOOP, limiter.acquire("/items", "", HttpMethod.GET));
+        }
+    }
+
+    private double limit(String route) {
+        return meterRegistry.get("shareit.gateway.concurrency.limit").tag("route", route).gauge().value();
+    }
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ResponseCacheTest {
+
+    private static final int USERS = 10;
+
+    private final AtomicInteger serverCalls = new AtomicInteger();
+    private final List<CompletableFuture<ResponseEntity<Object>>> pending = new ArrayList<>();
+    private final ResponseCache responseCache = new ResponseCache(new ResponseCacheProperties(),
+            new RequestCoalescer(true, new SimpleMeterRegistry()), new SimpleMeterRegistry());
+
+    @Test
+    void usersShareOneRequestWhenResponseDoesNotDependOnUser() {
+        List<CompletableFuture<ResponseEntity<Object>>> responses = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            // поиск шлюз пересылает без X-Sharer-User-Id
+            responses.add(get("/search?text={text}", null, Map.of("text", "дрель")));
+        }
+        complete(ResponseEntity.ok("[]"));
+
+        assertEquals(1, serverCalls.get());
+        responses.forEach(response -> assertEquals("[]", response.join().getBody()));
+    }
+
+    @Test
+    void nonOwnersShareOneItemRequest() {
+        get("/1", 1L, null);
+        complete(ResponseEntity.ok().header(ResponseCache.OWNER_HEADER, "1").body("owner"));
+        serverCalls.set(0);
+
+        List<CompletableFuture<ResponseEntity<Object>>> responses = new ArrayList<>();
+        for (long userId = 2; userId <= USERS + 1; userId++) {
+            responses.add(get("/1", userId, null));
+        }
+        CompletableFuture<ResponseEntity<Object>> owner = get("/1", 1L, null);
+
+        assertEquals(2, serverCalls.get());
+        ResponseEntity<Object> nonOwnerResponse = ResponseEntity.ok().header(ResponseCache.OWNER_HEADER, "1")
+                .body("non-owner");
+        pending.get(0).complete(nonOwnerResponse);
+        pending.get(1).complete(ResponseEntity.ok().header(ResponseCache.OWNER_HEADER, "1").body("owner"));
+        responses.forEach(response -> assertSame(nonOwnerResponse, response.join()));
+        assertEquals("owner", owner.join().getBody());
+    }
+
+    @Test
+    void itemRequestsAreNotSharedUntilOwnerIsKnown() {
+        for (long userId = 1; userId <= USERS; userId++) {
+            get("/1", userId, null);
+        }
+
+        assertEquals(USERS, serverCalls.get());
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> get(String path, Long userId, Map<String, Object> parameters) {
+        return responseCache.get("/items", path, userId, parameters, () -> {
+            serverCalls.incrementAndGet();
+            CompletableFuture<ResponseEntity<Object>> response = new CompletableFuture<>();
+            pending.add(response);
+            return response;
+        });
+    }
+
+    private void complete(ResponseEntity<Object> response) {
+        pending.forEach(future -> future.complete(response));
+        pending.clear();
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.validation.BindValidationException;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitPropertiesTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(ValidationAutoConfiguration.class))
+            .withUserConfiguration(PropertiesConfig.class);
+
+    @Test
+    void bindsPositiveLimits() {
+        contextRunner
+                .withPropertyValues(
+                        "shareit-gateway.rate-limit.limits.bookings.capacity=30",
+                        "shareit-gateway.rate-limit.limits.bookings.refill-per-second=0.5")
+                .run(context -> {
+                    assertNull(context.getStartupFailure());
+                    assertEquals(30, context.getBean(RateLimitProperties.class)
+                            .getLimits().get("bookings").getCapacity());
+                });
+    }
+
+    @Test
+    void rejectsZeroCapacity() {
+        contextRunner
+                .withPropertyValues("shareit-gateway.rate-limit.limits.bookings.capacity=0")
+                .run(context -> assertTrue(causedByValidation(context.getStartupFailure())));
+    }
+
+    @Test
+    void rejectsNegativeDefaultRefill() {
+        contextRunner
+                .withPropertyValues("shareit-gateway.rate-limit.default-limit.refill-per-second=-1")
+                .run(context -> assertTrue(causedByValidation(context.getStartupFailure())));
+    }
+
+    private static boolean causedByValidation(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof BindValidationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Configuration
+    @EnableConfigurationProperties(RateLimitProperties.class)
+    static class PropertiesConfig {
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Идентификаторы созданных данных, из которых сценарии выбирают параметры запросов.
+ */
+public class Dataset {
+
+    static final String[] WORDS = {
+            "дрель", "пила", "лестница", "палатка", "велосипед", "проектор",
+            "шуруповёрт", "самокат", "гитара", "перфоратор", "байдарка", "мангал"};
+
+    static final String[] ADJECTIVES = {
+            "аккумуляторная", "складная", "туристическая", "электрическая", "детская", "профессиональная"};
+
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<Long> ownerIds = new ArrayList<>();
+    private final List<Long> itemIds = new ArrayList<>();
+
+    public List<Long> getUserIds() {
+        return userIds;
+    }
+
+    public List<Long> getOwnerIds() {
+        return ownerIds;
+    }
+
+    public List<Long> getItemIds() {
+        return itemIds;
+    }
+}
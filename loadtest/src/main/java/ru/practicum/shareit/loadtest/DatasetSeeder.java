@@ -0,0 +1,207 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Синтетические данные: пользователи, вещи, запросы и бронирования в будущем создаются через API шлюза,
+ * прошедшие и текущие бронирования и комментарии - напрямую в PostgreSQL (если задан --jdbc-url).
+ * После наполнения по JDBC сервер нужно перезапустить: индекс интервалов бронирований строится при старте
+ * и вставок мимо API не видит.
+ */
+public class DatasetSeeder {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final LoadTestConfig config;
+    private final ShareItApi api;
+    private final Random random;
+
+    public DatasetSeeder(LoadTestConfig config, ShareItApi api) {
+        this.config = config;
+        this.api = api;
+        this.random = new Random(config.randomSeed());
+    }
+
+    public Dataset seed() throws SQLException {
+        Dataset dataset = new Dataset();
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        for (int i = 0; i < config.users(); i++) {
+            Map<String, Object> user = new LinkedHashMap<>();
+            user.put("name", "Пользователь " + i);
+            user.put("email", "user" + i + "-" + run + "@load.test");
+            dataset.getUserIds().add(api.post("/users", null, user).get("id").asLong());
+        }
+        log("пользователи: %d", dataset.getUserIds().size());
+
+        List<Long> requestIds = new ArrayList<>();
+        for (Long userId : dataset.getUserIds()) {
+            for (int i = 0; i < config.requestsPerUser(); i++) {
+                Map<String, Object> request = Map.of("description", "Нужна " + word() + " на выходные");
+                requestIds.add(api.post("/requests", userId, request).get("id").asLong());
+            }
+        }
+        log("запросы: %d", requestIds.size());
+
+        Map<Long, Long> ownerByItemId = new HashMap<>();
+        for (Long ownerId : dataset.getUserIds()) {
+            List<Map<String, Object>> items = new ArrayList<>();
+            for (int i = 0; i < config.itemsPerOwner(); i++) {
+                Map<String, Object> item = new LinkedHashMap<>();
+                item.put("name", capitalize(Dataset.ADJECTIVES[random.nextInt(Dataset.ADJECTIVES.length)]) + " " + word());
+                item.put("description", "Почти новая, " + word() + " в комплекте");
+                item.put("available", random.nextInt(10) > 0);
+                if (!requestIds.isEmpty() && random.nextInt(5) == 0) {
+                    item.put("requestId", requestIds.get(random.nextInt(requestIds.size())));
+                }
+                items.add(item);
+            }
+            if (items.isEmpty()) {
+                continue;
+            }
+            for (JsonNode result : api.post("/items/batch", ownerId, items)) {
+                if (result.get("created").asBoolean()) {
+                    long itemId = result.get("result").get("id").asLong();
+                    dataset.getItemIds().add(itemId);
+                    ownerByItemId.put(itemId, ownerId);
+                }
+            }
+            dataset.getOwnerIds().add(ownerId);
+        }
+        log("вещи: %d", dataset.getItemIds().size());
+
+        LocalDateTime futureStart = LocalDateTime.now().plusDays(1).withNano(0);
+        seedFutureBookings(dataset, ownerByItemId, futureStart);
+        if (config.jdbcUrl() != null) {
+            seedPastBookingsAndComments(dataset, ownerByItemId, futureStart);
+            log("бронирования добавлены мимо API: перезапустите сервер, чтобы он их учитывал");
+        } else {
+            log("--jdbc-url не задан: прошедшие и текущие бронирования и комментарии не созданы");
+        }
+        return dataset;
+    }
+
+    /**
+     * Бронирования в будущем по очереди с интервалом в три дня, чтобы не пересекаться.
+     * Половину подтверждает владелец.
+     */
+    private void seedFutureBookings(Dataset dataset, Map<Long, Long> ownerByItemId, LocalDateTime start) {
+        int futurePerItem = config.bookingsPerItem() / 2;
+        Map<Long, List<Map<String, Object>>> bookingsByBooker = new HashMap<>();
+        for (Long itemId : dataset.getItemIds()) {
+            for (int i = 0; i < futurePerItem; i++) {
+                Map<String, Object> booking = new LinkedHashMap<>();
+                booking.put("itemId", itemId);
+                booking.put("start", start.plusDays(i * 3L));
+                booking.put("end", start.plusDays(i * 3L + 2));
+                bookingsByBooker.computeIfAbsent(booker(dataset, ownerByItemId.get(itemId)), id -> new ArrayList<>())
+                        .add(booking);
+            }
+        }
+        int created = 0;
+        for (Map.Entry<Long, List<Map<String, Object>>> entry : bookingsByBooker.entrySet()) {
+            List<Map<String, Object>> bookings = entry.getValue();
+            for (int from = 0; from < bookings.size(); from += BATCH_SIZE) {
+                List<Map<String, Object>> chunk = bookings.subList(from, Math.min(bookings.size(), from + BATCH_SIZE));
+                for (JsonNode result : api.post("/bookings/batch", entry.getKey(), chunk)) {
+                    if (!result.get("created").asBoolean()) {
+                        continue;
+                    }
+                    created++;
+                    JsonNode booking = result.get("result");
+                    if (random.nextBoolean()) {
+                        long ownerId = booking.get("item").get("owner").get("id").asLong();
+                        api.patch("/bookings/" + booking.get("id").asLong() + "?approved=true", ownerId);
+                    }
+                }
+            }
+        }
+        log("бронирования в будущем: %d", created);
+    }
+
+    /**
+     * Текущее бронирование заканчивается за час до первого бронирования в будущем, чтобы с ним не пересекаться.
+     */
+    private void seedPastBookingsAndComments(Dataset dataset, Map<Long, Long> ownerByItemId,
+                                             LocalDateTime futureStart) throws SQLException {
+        int pastPerItem = config.bookingsPerItem() - config.bookingsPerItem() / 2;
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        int bookings = 0;
+        int comments = 0;
+        try (Connection connection = DriverManager.getConnection(
+                config.jdbcUrl(), config.jdbcUser(), config.jdbcPassword())) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement insertBooking = connection.prepareStatement(
+                    "INSERT INTO bookings (booking_id, start_date, end_date, item_id, booker_id, status) "
+                            + "VALUES (nextval('bookings_seq'), ?, ?, ?, ?, ?)");
+                 PreparedStatement insertComment = connection.prepareStatement(
+                         "INSERT INTO comments (comment_id, comment_text, item_id, author_id, created) "
+                                 + "VALUES (nextval('comments_seq'), ?, ?, ?, ?)")) {
+                for (Long itemId : dataset.getItemIds()) {
+                    Long ownerId = ownerByItemId.get(itemId);
+                    List<Long> bookers = new ArrayList<>();
+                    for (int i = 0; i < pastPerItem; i++) {
+                        boolean current = i == 0 && random.nextInt(4) == 0;
+                        LocalDateTime start = current ? now.minusHours(2) : now.minusDays(i * 3L + 3);
+                        LocalDateTime end = current ? futureStart.minusHours(1) : start.plusDays(2);
+                        Long bookerId = booker(dataset, ownerId);
+                        insertBooking.setTimestamp(1, Timestamp.valueOf(start));
+                        insertBooking.setTimestamp(2, Timestamp.valueOf(end));
+                        insertBooking.setLong(3, itemId);
+                        insertBooking.setLong(4, bookerId);
+                        insertBooking.setString(5, random.nextInt(8) == 0 ? "REJECTED" : "APPROVED");
+                        insertBooking.addBatch();
+                        bookers.add(bookerId);
+                        bookings++;
+                    }
+                    for (int i = 0; i < config.commentsPerItem() && !bookers.isEmpty(); i++) {
+                        insertComment.setString(1, "Всё отлично, " + word() + " работает");
+                        insertComment.setLong(2, itemId);
+                        insertComment.setLong(3, bookers.get(random.nextInt(bookers.size())));
+                        insertComment.setTimestamp(4, Timestamp.valueOf(now.minusDays(random.nextInt(30))));
+                        insertComment.addBatch();
+                        comments++;
+                    }
+                    if (bookings % BATCH_SIZE < pastPerItem) {
+                        insertBooking.executeBatch();
+                        insertComment.executeBatch();
+                    }
+                }
+                insertBooking.executeBatch();
+                insertComment.executeBatch();
+            }
+            connection.commit();
+        }
+        log("прошедшие и текущие бронирования: %d, комментарии: %d", bookings, comments);
+    }
+
+    private Long booker(Dataset dataset, Long ownerId) {
+        List<Long> userIds = dataset.getUserIds();
+        Long bookerId = userIds.get(random.nextInt(userIds.size()));
+        return bookerId.equals(ownerId) && userIds.size() > 1 ? booker(dataset, ownerId) : bookerId;
+    }
+
+    private String word() {
+        return Dataset.WORDS[random.nextInt(Dataset.WORDS.length)];
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    private static void log(String format, Object... args) {
+        System.out.printf("[seed] " + format + "%n", args);
+    }
+}
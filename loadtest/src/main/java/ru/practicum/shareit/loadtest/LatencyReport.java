@@ -0,0 +1,60 @@
+package ru.practicum.shareit.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Задержки по маршрутам (HdrHistogram, микросекунды) и число ответов по классам статусов.
+ */
+public class LatencyReport {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final ConcurrentMap<String, RouteStats> routes = new ConcurrentHashMap<>();
+
+    public void record(String route, long latencyNanos, int status) {
+        RouteStats stats = routes.computeIfAbsent(route, r -> new RouteStats());
+        stats.recorder.recordValue(Math.min(MAX_LATENCY_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        stats.statuses.computeIfAbsent(status == 0 ? "ошибка" : status / 100 + "xx", s -> new LongAdder()).increment();
+        if (status == 429 || status == 503) {
+            stats.statuses.computeIfAbsent(String.valueOf(status), s -> new LongAdder()).increment();
+        }
+    }
+
+    public void print(double seconds) {
+        System.out.printf("%-38s %9s %9s %9s %9s %9s %9s  %s%n",
+                "маршрут", "запросов", "rps", "p50 мс", "p95 мс", "p99 мс", "max мс", "статусы");
+        Histogram total = new Histogram(MAX_LATENCY_MICROS, 3);
+        for (Map.Entry<String, RouteStats> entry : new TreeMap<>(routes).entrySet()) {
+            Histogram histogram = entry.getValue().recorder.getIntervalHistogram();
+            total.add(histogram);
+            printRow(entry.getKey(), histogram, seconds, new TreeMap<>(entry.getValue().statuses).toString());
+        }
+        printRow("всего", total, seconds, "");
+    }
+
+    private static void printRow(String route, Histogram histogram, double seconds, String statuses) {
+        System.out.printf("%-38s %9d %9.1f %9.2f %9.2f %9.2f %9.2f  %s%n",
+                route,
+                histogram.getTotalCount(),
+                histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(95) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getMaxValue() / 1000.0,
+                statuses);
+    }
+
+    private static class RouteStats {
+
+        private final Recorder recorder = new Recorder(MAX_LATENCY_MICROS, 3);
+        private final ConcurrentMap<String, LongAdder> statuses = new ConcurrentHashMap<>();
+    }
+}
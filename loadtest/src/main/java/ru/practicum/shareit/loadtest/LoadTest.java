@@ -0,0 +1,60 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Нагрузочный тест через шлюз: наполнение данными и смешанная нагрузка фиксированным числом потоков
+ * (закрытая модель - каждый поток отправляет следующий запрос после ответа на предыдущий).
+ * Для измерения сервера, а не ограничителей шлюза, шлюз запускают с
+ * shareit-gateway.rate-limit.enabled=false и shareit-gateway.concurrency.enabled=false.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = new LoadTestConfig(args);
+        ShareItApi api = new ShareItApi(config.gatewayUrl());
+
+        Dataset dataset;
+        if (config.seed()) {
+            dataset = new DatasetSeeder(config, api).seed();
+        } else {
+            dataset = new Dataset();
+            for (long id = 1; id <= config.users(); id++) {
+                dataset.getUserIds().add(id);
+                dataset.getOwnerIds().add(id);
+            }
+        }
+
+        Scenario scenario = new Scenario(dataset, config.mix());
+        LatencyReport report = new LatencyReport();
+        long warmupEnd = System.nanoTime() + config.warmup().toNanos();
+        long end = warmupEnd + config.duration().toNanos();
+
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < config.threads(); i++) {
+            Thread worker = new Thread(() -> {
+                while (System.nanoTime() < end) {
+                    Scenario.Request request = scenario.next();
+                    long start = System.nanoTime();
+                    int status = api.get(request.getPath(), request.getUserId());
+                    // запросы, начатые во время прогрева, в отчёт не попадают
+                    if (start >= warmupEnd) {
+                        report.record(request.getRoute(), System.nanoTime() - start, status);
+                    }
+                }
+            }, "load-" + i);
+            worker.start();
+            workers.add(worker);
+        }
+
+        System.out.printf("Прогрев %d с, %d потоков%n", config.warmup().toSeconds(), config.threads());
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, warmupEnd - System.nanoTime()));
+        System.out.printf("Измерение %d с%n", config.duration().toSeconds());
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        report.print(config.duration().toMillis() / 1000.0);
+    }
+}
@@ -0,0 +1,122 @@
+package ru.practicum.shareit.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Параметры запуска в виде --ключ=значение, например:
+ * java -jar loadtest/target/loadtest.jar --gateway-url=http://localhost:8080 --users=500 --duration=2m
+ */
+public class LoadTestConfig {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    public LoadTestConfig(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Ожидался аргумент вида --ключ=значение: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+    }
+
+    public String gatewayUrl() {
+        return string("gateway-url", "http://localhost:8080");
+    }
+
+    /**
+     * JDBC-адрес базы сервера. Без него прошедшие и текущие бронирования и комментарии не создаются:
+     * API принимает только бронирования в будущем. Подходит только PostgreSQL: H2 в памяти (профили ci и test)
+     * живёт внутри процесса сервера и из другого процесса недоступна. После наполнения сервер перезапускают.
+     */
+    public String jdbcUrl() {
+        return string("jdbc-url", null);
+    }
+
+    public String jdbcUser() {
+        return string("jdbc-user", "shareit");
+    }
+
+    public String jdbcPassword() {
+        return string("jdbc-password", "shareit");
+    }
+
+    public int users() {
+        return integer("users", 200);
+    }
+
+    public int itemsPerOwner() {
+        return integer("items-per-owner", 5);
+    }
+
+    public int bookingsPerItem() {
+        return integer("bookings-per-item", 6);
+    }
+
+    public int commentsPerItem() {
+        return integer("comments-per-item", 2);
+    }
+
+    public int requestsPerUser() {
+        return integer("requests-per-user", 1);
+    }
+
+    public boolean seed() {
+        return Boolean.parseBoolean(string("seed", "true"));
+    }
+
+    public int threads() {
+        return integer("threads", 32);
+    }
+
+    public Duration warmup() {
+        return duration("warmup", Duration.ofSeconds(10));
+    }
+
+    public Duration duration() {
+        return duration("duration", Duration.ofSeconds(60));
+    }
+
+    public long randomSeed() {
+        return Long.parseLong(string("random-seed", "42"));
+    }
+
+    /**
+     * Веса сценариев, например --mix=search:30,owner-bookings:25,items:25,requests-all:20.
+     */
+    public Map<String, Integer> mix() {
+        Map<String, Integer> mix = new HashMap<>();
+        for (String part : string("mix", "search:30,owner-bookings:25,items:25,requests-all:20").split(",")) {
+            String[] weight = part.split(":");
+            mix.put(weight[0].trim(), Integer.parseInt(weight[1].trim()));
+        }
+        return mix;
+    }
+
+    private String string(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    private int integer(String key, int defaultValue) {
+        String value = values.get(key);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    private Duration duration(String key, Duration defaultValue) {
+        String value = values.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        switch (value.charAt(value.length() - 1)) {
+            case 's':
+                return Duration.ofSeconds(amount);
+            case 'm':
+                return Duration.ofMinutes(amount);
+            default:
+                return Duration.ofSeconds(Long.parseLong(value));
+        }
+    }
+}
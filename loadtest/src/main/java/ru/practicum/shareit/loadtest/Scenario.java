@@ -0,0 +1,93 @@
+package ru.practicum.shareit.loadtest;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Смешанная нагрузка на чтение: каждый вызов выбирает маршрут по весам и формирует запрос.
+ */
+public class Scenario {
+
+    private static final String[] STATES = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"};
+
+    private final Dataset dataset;
+    private final List<String> routes = new ArrayList<>();
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    public Scenario(Dataset dataset, Map<String, Integer> mix) {
+        this.dataset = dataset;
+        Map<String, Integer> sorted = new TreeMap<>(mix);
+        cumulativeWeights = new int[sorted.size()];
+        int total = 0;
+        for (Map.Entry<String, Integer> entry : sorted.entrySet()) {
+            if (!List.of("search", "owner-bookings", "items", "requests-all").contains(entry.getKey())) {
+                throw new IllegalArgumentException("Неизвестный сценарий " + entry.getKey());
+            }
+            total += entry.getValue();
+            cumulativeWeights[routes.size()] = total;
+            routes.add(entry.getKey());
+        }
+        totalWeight = total;
+    }
+
+    public Request next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int point = random.nextInt(totalWeight);
+        int index = 0;
+        while (cumulativeWeights[index] <= point) {
+            index++;
+        }
+        String route = routes.get(index);
+        int from = random.nextInt(3) * 20;
+        switch (route) {
+            case "search":
+                String text = Dataset.WORDS[random.nextInt(Dataset.WORDS.length)];
+                return new Request("GET /items/search", "/items/search?text="
+                        + URLEncoder.encode(text, StandardCharsets.UTF_8) + "&from=" + from + "&size=20", null);
+            case "owner-bookings":
+                String state = STATES[random.nextInt(STATES.length)];
+                return new Request("GET /bookings/owner?state=" + state,
+                        "/bookings/owner?state=" + state + "&from=" + from + "&size=20", randomId(dataset.getOwnerIds()));
+            case "items":
+                return new Request("GET /items", "/items?from=0&size=20", randomId(dataset.getOwnerIds()));
+            default:
+                return new Request("GET /requests/all", "/requests/all?from=" + from + "&size=20",
+                        randomId(dataset.getUserIds()));
+        }
+    }
+
+    private static Long randomId(List<Long> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    public static class Request {
+
+        private final String route;
+        private final String path;
+        private final Long userId;
+
+        Request(String route, String path, Long userId) {
+            this.route = route;
+            this.path = path;
+            this.userId = userId;
+        }
+
+        public String getRoute() {
+            return route;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+    }
+}
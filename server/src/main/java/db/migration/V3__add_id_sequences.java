@@ -0,0 +1,39 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Последовательности для id вещей, бронирований и комментариев (pooled-lo, шаг 50).
+ * Начальное значение зависит от уже сохранённых строк, поэтому миграция на Java;
+ * имя класса задаёт версию Flyway и не проходит проверку TypeName.
+ */
+@SuppressWarnings("checkstyle:TypeName")
+public class V3__add_id_sequences extends BaseJavaMigration {
+
+    private static final int INCREMENT = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        createSequence(context, "items_seq", "items", "item_id");
+        createSequence(context, "bookings_seq", "bookings", "booking_id");
+        createSequence(context, "comments_seq", "comments", "comment_id");
+    }
+
+    private static void createSequence(Context context, String sequence, String table, String idColumn)
+            throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            long start;
+            try (ResultSet resultSet = statement.executeQuery(
+                    "SELECT COALESCE(MAX(" + idColumn + "), 0) + 1 FROM " + table)) {
+                resultSet.next();
+                start = resultSet.getLong(1);
+            }
+            statement.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence
+                    + " START WITH " + start + " INCREMENT BY " + INCREMENT);
+        }
+    }
+}
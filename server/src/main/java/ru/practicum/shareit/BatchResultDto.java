@@ -0,0 +1,30 @@
+package ru.practicum.shareit;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Результат обработки одной строки пакетного запроса. index - позиция строки в запросе.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchResultDto<T> {
+
+    private int index;
+
+    private boolean created;
+
+    private T result;
+
+    private String error;
+
+    public static <T> BatchResultDto<T> created(int index, T result) {
+        return new BatchResultDto<>(index, true, result, null);
+    }
+
+    public static <T> BatchResultDto<T> rejected(int index, String error) {
+        return new BatchResultDto<>(index, false, null, error);
+    }
+}
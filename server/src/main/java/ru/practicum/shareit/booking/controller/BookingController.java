@@ -1,7 +1,10 @@
 package ru.practicum.shareit.booking.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.BatchResultDto;
+import ru.practicum.shareit.PageCursor;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.service.BookingService;
@@ -17,21 +20,23 @@ public class BookingController {
     private final BookingService bookingService;
 
     @GetMapping
-    public List<BookingDto> getAllBookings(
+    public ResponseEntity<List<BookingDto>> getAllBookings(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
             @RequestParam(name = "from", defaultValue = "0") int from,
-            @RequestParam(name = "size", defaultValue = "20") int size) {
-        return bookingService.getAllBookings(userId, stateParam, from, size);
+            @RequestParam(name = "size", defaultValue = "20") int size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        return withNextCursor(bookingService.getAllBookings(userId, stateParam, from, size, cursor), size);
     }
 
     @GetMapping(value = "/owner")
-    public List<BookingDto> getAllBookingItemsUser(
+    public ResponseEntity<List<BookingDto>> getAllBookingItemsUser(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
             @RequestParam(name = "from", defaultValue = "0") int from,
-            @RequestParam(name = "size", defaultValue = "20") int size) {
-        return bookingService.getAllBookingItemsUser(userId, stateParam, from, size);
+            @RequestParam(name = "size", defaultValue = "20") int size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        return withNextCursor(bookingService.getAllBookingItemsUser(userId, stateParam, from, size, cursor), size);
     }
 
     @GetMapping(value = "/{bookingId}")
@@ -48,6 +53,13 @@ public class BookingController {
         return bookingService.createBooking(userId, bookingDto);
     }
 
+    @PostMapping(value = "/batch")
+    public List<BatchResultDto<BookingDto>> createBookings(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestBody List<BookingCreateDto> bookingDtos) {
+        return bookingService.createBookings(userId, bookingDtos);
+    }
+
     @PatchMapping(value = "/{bookingId}")
     public BookingDto patchBooking(
             @RequestHeader("X-Sharer-User-Id") Long userId,
@@ -60,6 +72,15 @@ public class BookingController {
     public void deleteById(@PathVariable Long bookingId) {
         bookingService.removeBookingById(bookingId);
     }
+
+    private static ResponseEntity<List<BookingDto>> withNextCursor(List<BookingDto> bookings, int size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (bookings.size() == size) {
+            BookingDto last = bookings.get(bookings.size() - 1);
+            response.header(PageCursor.NEXT_CURSOR_HEADER, new PageCursor(last.getStart(), last.getId()).encode());
+        }
+        return response.body(bookings);
+    }
 }
 
 
@@ -29,4 +29,19 @@ public class BookingDto {
     User booker;
 
     Status status;
+
+    /**
+     * Конструктор для проекции списков бронирований: вещь, владелец и арендатор собираются
+     * из колонок одного запроса и не попадают в контекст персистентности.
+     */
+    public BookingDto(Long id, LocalDateTime start, LocalDateTime end, Status status,
+                      Long itemId, String itemName, String itemDescription, Boolean itemAvailable, Long itemRequestId,
+                      Long ownerId, String ownerEmail, String ownerName,
+                      Long bookerId, String bookerEmail, String bookerName) {
+        this(id, start, end,
+                new Item(itemId, itemName, itemDescription, itemAvailable,
+                        new User(ownerId, ownerEmail, ownerName), itemRequestId),
+                new User(bookerId, bookerEmail, bookerName),
+                status);
+    }
 }
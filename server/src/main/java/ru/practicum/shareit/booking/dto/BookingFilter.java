@@ -0,0 +1,36 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.PageCursor;
+import ru.practicum.shareit.booking.model.Status;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BookingFilter {
+
+    Long bookerId;
+
+    Long ownerId;
+
+    Status state;
+
+    LocalDateTime time;
+
+    /**
+     * Позиция последнего бронирования предыдущей страницы, null - первая страница или from/size.
+     */
+    PageCursor after;
+
+    public static BookingFilter ofBooker(Long bookerId, Status state, LocalDateTime time, PageCursor after) {
+        return new BookingFilter(bookerId, null, state, time, after);
+    }
+
+    public static BookingFilter ofOwner(Long ownerId, Status state, LocalDateTime time, PageCursor after) {
+        return new BookingFilter(null, ownerId, state, time, after);
+    }
+}
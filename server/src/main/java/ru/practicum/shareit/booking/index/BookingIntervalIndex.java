@@ -0,0 +1,258 @@
+package ru.practicum.shareit.booking.index;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+import static ru.practicum.shareit.TransactionCallbacks.afterCommit;
+import static ru.practicum.shareit.TransactionCallbacks.afterRollback;
+import static ru.practicum.shareit.booking.model.Status.APPROVED;
+import static ru.practicum.shareit.booking.model.Status.WAITING;
+
+/**
+ * Интервалы активных (WAITING и APPROVED) бронирований по каждой вещи.
+ * Интервалы хранятся отсортированными по началу вместе с префиксным максимумом окончаний,
+ * поэтому проверка пересечения с окном занимает O(log n).
+ * Проверка и занятие окна выполняются под блокировкой вещи до фиксации транзакции,
+ * при откате окно освобождается. Завершившиеся интервалы вытесняются, когда массив вещи заполнен.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingIntervalIndex {
+
+    private final BookingRepository bookingRepository;
+
+    private final Map<Long, ItemIntervals> intervalsByItemId = new ConcurrentHashMap<>();
+    private final Map<Long, Reservation> reservationByBookingId = new ConcurrentHashMap<>();
+    private final AtomicLong reservationIds = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        List<BookingCreateDto> bookings = bookingRepository.findActiveIntervals(
+                List.of(WAITING, APPROVED),
+                LocalDateTime.now());
+        long now = toNanos(LocalDateTime.now());
+        for (BookingCreateDto booking : bookings) {
+            Reservation reservation = new Reservation(
+                    booking.getItemId(), booking.getId(), toNanos(booking.getStart()), toNanos(booking.getEnd()));
+            intervals(booking.getItemId()).add(reservation.id, reservation.start, reservation.end, now);
+            reservationByBookingId.put(booking.getId(), reservation);
+        }
+        log.info("Индекс интервалов бронирований построен: {} бронирований", reservationByBookingId.size());
+    }
+
+    /**
+     * Атомарно проверяет, что окно свободно, и занимает его до конца транзакции.
+     * Возвращает null, если окно пересекается с активным или уже занятым бронированием.
+     * После сохранения бронирования резерв связывается с ним через {@link Reservation#confirm(Long)}.
+     */
+    public Reservation reserve(Long itemId, LocalDateTime start, LocalDateTime end) {
+        Reservation reservation = new Reservation(
+                itemId, -reservationIds.incrementAndGet(), toNanos(start), toNanos(end));
+        if (!intervals(itemId).tryAdd(reservation.id, reservation.start, reservation.end,
+                toNanos(LocalDateTime.now()))) {
+            return null;
+        }
+        afterRollback(() -> release(reservation));
+        return reservation;
+    }
+
+    /**
+     * Проверяет окно без его занятия, поэтому результат может устареть до сохранения бронирования.
+     */
+    public boolean isFree(Long itemId, LocalDateTime start, LocalDateTime end) {
+        ItemIntervals intervals = intervalsByItemId.get(itemId);
+        return intervals == null || !intervals.overlaps(toNanos(start), toNanos(end));
+    }
+
+    public boolean contains(Long bookingId) {
+        return reservationByBookingId.containsKey(bookingId);
+    }
+
+    public void remove(Long bookingId) {
+        afterCommit(() -> {
+            Reservation reservation = reservationByBookingId.get(bookingId);
+            if (reservation != null) {
+                release(reservation);
+            }
+        });
+    }
+
+    private void release(Reservation reservation) {
+        ItemIntervals intervals = intervalsByItemId.get(reservation.itemId);
+        synchronized (intervals) {
+            intervals.remove(reservation.id, reservation.start);
+            reservationByBookingId.remove(reservation.id, reservation);
+        }
+    }
+
+    private ItemIntervals intervals(Long itemId) {
+        return intervalsByItemId.computeIfAbsent(itemId, id -> new ItemIntervals(reservationByBookingId::remove));
+    }
+
+    private static long toNanos(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + time.getNano();
+    }
+
+    /**
+     * Занятое окно вещи. До {@link #confirm(Long)} имеет временный отрицательный id.
+     */
+    public final class Reservation {
+
+        private final Long itemId;
+        private final long start;
+        private final long end;
+        private long id;
+
+        private Reservation(Long itemId, long id, long start, long end) {
+            this.itemId = itemId;
+            this.id = id;
+            this.start = start;
+            this.end = end;
+        }
+
+        public void confirm(Long bookingId) {
+            ItemIntervals intervals = intervalsByItemId.get(itemId);
+            synchronized (intervals) {
+                intervals.replaceId(id, bookingId, start);
+                id = bookingId;
+                reservationByBookingId.put(bookingId, this);
+            }
+        }
+    }
+
+    private static class ItemIntervals {
+
+        private final LongConsumer onEvicted;
+        private long[] starts = new long[4];
+        private long[] ends = new long[4];
+        private long[] bookingIds = new long[4];
+        private long[] maxEnds = new long[4];
+        private int size;
+
+        ItemIntervals(LongConsumer onEvicted) {
+            this.onEvicted = onEvicted;
+        }
+
+        synchronized boolean overlaps(long start, long end) {
+            int candidates = lowerBound(end);
+            return candidates > 0 && maxEnds[candidates - 1] > start;
+        }
+
+        synchronized boolean tryAdd(long bookingId, long start, long end, long now) {
+            if (overlaps(start, end)) {
+                return false;
+            }
+            add(bookingId, start, end, now);
+            return true;
+        }
+
+        synchronized void add(long bookingId, long start, long end, long now) {
+            if (size == starts.length) {
+                evictEnded(now);
+            }
+            if (size == starts.length) {
+                int capacity = size * 2;
+                starts = Arrays.copyOf(starts, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+                bookingIds = Arrays.copyOf(bookingIds, capacity);
+                maxEnds = Arrays.copyOf(maxEnds, capacity);
+            }
+            int position = lowerBound(start);
+            int tail = size - position;
+            System.arraycopy(starts, position, starts, position + 1, tail);
+            System.arraycopy(ends, position, ends, position + 1, tail);
+            System.arraycopy(bookingIds, position, bookingIds, position + 1, tail);
+            starts[position] = start;
+            ends[position] = end;
+            bookingIds[position] = bookingId;
+            size++;
+            updateMaxEnds(position);
+        }
+
+        synchronized void remove(long bookingId, long start) {
+            int position = find(bookingId, start);
+            if (position < 0) {
+                return;
+            }
+            int tail = size - position - 1;
+            System.arraycopy(starts, position + 1, starts, position, tail);
+            System.arraycopy(ends, position + 1, ends, position, tail);
+            System.arraycopy(bookingIds, position + 1, bookingIds, position, tail);
+            size--;
+            updateMaxEnds(position);
+        }
+
+        synchronized void replaceId(long oldId, long newId, long start) {
+            int position = find(oldId, start);
+            if (position >= 0) {
+                bookingIds[position] = newId;
+            }
+        }
+
+        /**
+         * Новые бронирования начинаются в будущем, поэтому завершившиеся интервалы уже ни с чем не пересекутся.
+         */
+        private void evictEnded(long now) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (ends[i] <= now) {
+                    onEvicted.accept(bookingIds[i]);
+                    continue;
+                }
+                starts[kept] = starts[i];
+                ends[kept] = ends[i];
+                bookingIds[kept] = bookingIds[i];
+                kept++;
+            }
+            if (kept < size) {
+                size = kept;
+                updateMaxEnds(0);
+            }
+        }
+
+        private int find(long bookingId, long start) {
+            for (int position = lowerBound(start); position < size && starts[position] == start; position++) {
+                if (bookingIds[position] == bookingId) {
+                    return position;
+                }
+            }
+            return -1;
+        }
+
+        private void updateMaxEnds(int from) {
+            long maxEnd = from == 0 ? Long.MIN_VALUE : maxEnds[from - 1];
+            for (int i = from; i < size; i++) {
+                maxEnd = Math.max(maxEnd, ends[i]);
+                maxEnds[i] = maxEnd;
+            }
+        }
+
+        private int lowerBound(long value) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (starts[middle] < value) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
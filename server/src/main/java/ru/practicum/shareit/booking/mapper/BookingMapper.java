@@ -3,6 +3,7 @@ package ru.practicum.shareit.booking.mapper;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingItemDto;
+import ru.practicum.shareit.booking.dto.BookingShortView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 
@@ -44,6 +45,12 @@ public class BookingMapper {
                 booking.getBooker().getId());
     }
 
+    public static BookingItemDto toBookingDtoForItem(BookingShortView booking) {
+        return new BookingItemDto(
+                booking.getId(),
+                booking.getBookerId());
+    }
+
     public static BookingCreateDto toBookingCreateDto(Booking booking) {
         return new BookingCreateDto(
                 booking.getId(),
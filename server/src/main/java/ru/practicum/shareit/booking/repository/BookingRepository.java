@@ -2,93 +2,51 @@ package ru.practicum.shareit.booking.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import ru.practicum.shareit.PageRequestOverride;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingShortView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-
-    List<Booking> findByBookerIdOrderByStartDesc(
-            Long userId,
-            PageRequestOverride pageRequest);
-
-    List<Booking> findByBookerIdAndStartAfterOrderByStartDesc(
-            Long userId,
-            LocalDateTime time,
-            PageRequestOverride pageRequest);
-
-    List<Booking> findBookingsByBookerIdAndStatusOrderByStartDesc(
-            Long userId,
-            Status status,
-            PageRequestOverride pageRequest);
-
-    List<Booking> findBookingsByBookerIdAndEndIsBeforeOrderByStartDesc(
-            Long userId,
-            LocalDateTime time,
-            PageRequestOverride pageRequest);
-
-    @Query("select b " +
-            "from Booking b left join User as us on b.booker.id = us.id " +
-            "where us.id = ?1 " +
-            "and ?2 between b.start and b.end " +
-            "order by b.start DESC")
-    List<Booking> findCurrentBookingsByBookerIdOrderByStartDesc(
-            Long userId,
-            LocalDateTime time,
-            PageRequestOverride pageRequest);
-
-    List<Booking> searchBookingByItemOwnerIdOrderByStartDesc(Long userId,
-                                             PageRequestOverride pageRequest);
-
-    List<Booking> searchBookingByItemOwnerIdAndStartIsAfterOrderByStartDesc(
-            Long id,
-            LocalDateTime time,
-            PageRequestOverride pageRequest);
-
-    List<Booking> findBookingsByItemOwnerIdOrderByStartDesc(
-            Long id,
-            PageRequestOverride pageRequest);
-
-    @Query("select b " +
-            "from Booking b left join Item as i on b.item.id = i.id " +
-            "left join User as us on i.owner.id = us.id " +
-            "where us.id = ?1 " +
-            "and ?2 between b.start and b.end " +
-            "order by b.start DESC")
-    List<Booking> findCurrentBookingsByItemOwnerIdOrderByStartDesc(
-            Long userId,
-            LocalDateTime time,
-            PageRequestOverride pageRequest);
-
-    List<Booking> findCurrentBookingsByItemOwnerId(
-            Long userId,
-            LocalDateTime time,
-            PageRequestOverride pageRequest);
-
-
-    List<Booking> findBookingsByItemOwnerIdAndEndIsBeforeOrderByStartDesc(
-            Long userId,
-            LocalDateTime time,
-            PageRequestOverride pageRequest);
-
-    List<Booking> findBookingsByItemOwnerIdAndEndIsBefore(
-            Long userId,
-            LocalDateTime time,
-            PageRequestOverride pageRequest);
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
 
     List<Booking> searchBookingByBookerIdAndItemIdAndEndIsBefore(
             Long id,
             Long itemId,
             LocalDateTime time);
 
-    List<Booking> findBookingsByItemIdAndEndIsBeforeOrderByEndDesc(
-            Long id,
+    @Query(value = "select b.item_id as \"itemId\", b.booking_id as \"id\", b.booker_id as \"bookerId\" " +
+            "from (select bk.item_id, bk.booking_id, bk.booker_id, " +
+            "row_number() over (partition by bk.item_id order by bk.end_date desc, bk.booking_id desc) as rn " +
+            "from bookings as bk " +
+            "where bk.item_id in ?1 " +
+            "and bk.end_date < ?2) as b " +
+            "where b.rn = 1",
+            nativeQuery = true)
+    List<BookingShortView> findLastBookingsByItemIds(
+            Collection<Long> itemIds,
             LocalDateTime time);
 
-    List<Booking> findBookingsByItemIdAndStartIsAfterOrderByStartDesc(
-            Long id,
+    @Query(value = "select b.item_id as \"itemId\", b.booking_id as \"id\", b.booker_id as \"bookerId\" " +
+            "from (select bk.item_id, bk.booking_id, bk.booker_id, " +
+            "row_number() over (partition by bk.item_id order by bk.start_date desc, bk.booking_id desc) as rn " +
+            "from bookings as bk " +
+            "where bk.item_id in ?1 " +
+            "and bk.start_date > ?2) as b " +
+            "where b.rn = 1",
+            nativeQuery = true)
+    List<BookingShortView> findNextBookingsByItemIds(
+            Collection<Long> itemIds,
+            LocalDateTime time);
+
+    @Query("select new ru.practicum.shareit.booking.dto.BookingCreateDto(b.id, b.start, b.end, b.item.id) " +
+            "from Booking b " +
+            "where b.status in ?1 " +
+            "and b.end > ?2")
+    List<BookingCreateDto> findActiveIntervals(
+            Collection<Status> statuses,
             LocalDateTime time);
-}
\ No newline at end of file
+}
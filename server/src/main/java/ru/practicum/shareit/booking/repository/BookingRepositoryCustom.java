@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking.repository;
+
+import ru.practicum.shareit.PageRequestOverride;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingFilter;
+
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+
+    List<BookingDto> findAllByFilter(BookingFilter filter, PageRequestOverride pageRequest);
+}
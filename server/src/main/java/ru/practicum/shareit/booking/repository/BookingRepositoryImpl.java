@@ -0,0 +1,95 @@
+package ru.practicum.shareit.booking.repository;
+
+import ru.practicum.shareit.PageRequestOverride;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingFilter;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BookingRepositoryImpl implements BookingRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Списки бронирований читаются проекцией в {@link BookingDto} одним запросом с join,
+     * без загрузки сущностей Booking, Item и User в контекст персистентности.
+     * С курсором страница начинается после (start_date, booking_id) из него, а не со смещения.
+     */
+    @Override
+    public List<BookingDto> findAllByFilter(BookingFilter filter, PageRequestOverride pageRequest) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingDto> query = cb.createQuery(BookingDto.class);
+        Root<Booking> booking = query.from(Booking.class);
+        Join<Booking, Item> item = booking.join("item");
+        Join<Item, User> owner = item.join("owner");
+        Join<Booking, User> booker = booking.join("booker");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getBookerId() != null) {
+            predicates.add(cb.equal(booker.get("id"), filter.getBookerId()));
+        }
+        if (filter.getOwnerId() != null) {
+            predicates.add(cb.equal(owner.get("id"), filter.getOwnerId()));
+        }
+        Path<LocalDateTime> start = booking.get("start");
+        Path<LocalDateTime> end = booking.get("end");
+        LocalDateTime time = filter.getTime();
+        switch (filter.getState()) {
+            case ALL:
+                break;
+            case CURRENT:
+                predicates.add(cb.lessThanOrEqualTo(start, time));
+                predicates.add(cb.greaterThanOrEqualTo(end, time));
+                break;
+            case PAST:
+                predicates.add(cb.lessThan(end, time));
+                break;
+            case FUTURE:
+                predicates.add(cb.greaterThan(start, time));
+                break;
+            case WAITING:
+            case REJECTED:
+                predicates.add(cb.equal(booking.get("status"), filter.getState()));
+                break;
+            default:
+                // APPROVED и CANCELED, как и раньше, не фильтруют по статусу:
+                // арендатор получает все свои бронирования, владелец - пустой список
+                if (filter.getOwnerId() != null) {
+                    return new ArrayList<>();
+                }
+        }
+        if (filter.getAfter() != null) {
+            Path<Long> id = booking.get("id");
+            predicates.add(cb.or(
+                    cb.lessThan(start, filter.getAfter().getTime()),
+                    cb.and(cb.equal(start, filter.getAfter().getTime()), cb.lessThan(id, filter.getAfter().getId()))));
+        }
+
+        query.select(cb.construct(BookingDto.class,
+                        booking.get("id"), start, end, booking.get("status"),
+                        item.get("id"), item.get("name"), item.get("description"), item.get("available"),
+                        item.get("requestId"),
+                        owner.get("id"), owner.get("email"), owner.get("name"),
+                        booker.get("id"), booker.get("email"), booker.get("name")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(start), cb.desc(booking.get("id")));
+        return entityManager.createQuery(query)
+                .setFirstResult((int) pageRequest.getOffset())
+                .setMaxResults(pageRequest.getPageSize())
+                .getResultList();
+    }
+}
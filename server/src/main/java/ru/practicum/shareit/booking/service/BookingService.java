@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking.service;
 
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.BatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 
@@ -9,14 +10,16 @@ import java.util.List;
 @Service
 public interface BookingService {
 
-    List<BookingDto> getAllBookings(Long userId, String stateParam, int from, int size);
+    List<BookingDto> getAllBookings(Long userId, String stateParam, int from, int size, String cursor);
 
     BookingDto getBookingById(Long userId, Long bookingId);
 
-    List<BookingDto> getAllBookingItemsUser(Long userId, String stateParam, int from, int size);
+    List<BookingDto> getAllBookingItemsUser(Long userId, String stateParam, int from, int size, String cursor);
 
     BookingDto createBooking(Long userId, BookingCreateDto bookingDto);
 
+    List<BatchResultDto<BookingDto>> createBookings(Long userId, List<BookingCreateDto> bookingDtos);
+
     BookingDto patchBooking(Long userId, Long bookingId, Boolean approved);
 
     void removeBookingById(Long bookingId);
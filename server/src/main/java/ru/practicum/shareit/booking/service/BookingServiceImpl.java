@@ -2,32 +2,39 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.BatchResultDto;
+import ru.practicum.shareit.PageCursor;
 import ru.practicum.shareit.PageRequestOverride;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingFilter;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.cache.EntityCache;
 import ru.practicum.shareit.exception.BookingException;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.booking.mapper.BookingMapper.toBookingDto;
 import static ru.practicum.shareit.booking.model.Status.REJECTED;
-import static ru.practicum.shareit.booking.model.Status.WAITING;
 
 @Service
 @RequiredArgsConstructor
@@ -35,81 +42,23 @@ import static ru.practicum.shareit.booking.model.Status.WAITING;
 public class BookingServiceImpl implements BookingService {
 
     private final BookingRepository bookingRepository;
-    private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final EntityCache entityCache;
 
-    @Override
-    public List<BookingDto> getAllBookings(Long userId, String stateParam, int from, int size) {
-        Status state = Status.from(stateParam);
-        if (state == null) {
-            log.error("Unknown state: " + stateParam);
-            throw new IllegalArgumentException("Unknown state: " + stateParam);
-        }
-        if (from < 0 || size <= 0) {
-            log.error("Переданы некорректные значения from и/или size");
-            throw new ValidationException("Переданы некорректные значения from и/или size");
-        }
+    @Value("${shareit.batch.max-size:1000}")
+    private int batchMaxSize;
 
-        PageRequestOverride pageRequest = PageRequestOverride.of(from, size);
-
-        userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException(
-                        String.format("Пользователь %s не существует.", userId)));
-        switch (Status.valueOf(stateParam)) {
-            case CURRENT:
-                return bookingRepository
-                        .findCurrentBookingsByBookerIdOrderByStartDesc(
-                                userId,
-                                LocalDateTime.now(),
-                                pageRequest)
-                        .stream()
-                        .map(BookingMapper::toBookingDto)
-                        .collect(Collectors.toList());
-            case PAST:
-                return bookingRepository
-                        .findBookingsByBookerIdAndEndIsBeforeOrderByStartDesc(
-                                userId,
-                                LocalDateTime.now(),
-                                pageRequest)
-                        .stream()
-                        .map(BookingMapper::toBookingDto)
-                        .collect(Collectors.toList());
-            case FUTURE:
-                return bookingRepository
-                        .findByBookerIdAndStartAfterOrderByStartDesc(
-                                userId,
-                                LocalDateTime.now(),
-                                pageRequest)
-                        .stream()
-                        .map(BookingMapper::toBookingDto)
-                        .collect(Collectors.toList());
-            case WAITING:
-                return bookingRepository
-                        .findBookingsByBookerIdAndStatusOrderByStartDesc(
-                                userId,
-                                WAITING,
-                                pageRequest)
-                        .stream()
-                        .map(BookingMapper::toBookingDto)
-                        .collect(Collectors.toList());
-            case REJECTED:
-                return bookingRepository
-                        .findBookingsByBookerIdAndStatusOrderByStartDesc(
-                                userId,
-                                REJECTED,
-                                pageRequest)
-                        .stream()
-                        .map(BookingMapper::toBookingDto)
-                        .collect(Collectors.toList());
-            default:
-                return bookingRepository
-                        .findByBookerIdOrderByStartDesc(
-                                userId,
-                                pageRequest)
-                        .stream()
-                        .map(BookingMapper::toBookingDto)
-                        .collect(Collectors.toList());
-        }
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingDto> getAllBookings(Long userId, String stateParam, int from, int size, String cursor) {
+        Status state = validateState(stateParam, from, size);
+        PageCursor after = cursor == null ? null : PageCursor.decode(cursor);
+        entityCache.getUser(userId);
+        return bookingRepository
+                .findAllByFilter(
+                        BookingFilter.ofBooker(userId, state, LocalDateTime.now(), after),
+                        PageRequestOverride.of(after == null ? from : 0, size));
     }
 
     @Override
@@ -124,120 +73,109 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<BookingDto> getAllBookingItemsUser(Long userId, String stateParam, int from, int size) {
-        Status state = Status.from(stateParam);
-        if (state == null) {
-            log.error("Unknown state: " + stateParam);
-            throw new IllegalArgumentException("Unknown state: " + stateParam);
-        }
-        if (from < 0 || size <= 0) {
-            log.error("Переданы некорректные значения from и/или size");
-            throw new ValidationException("Переданы некорректные значения from и/или size");
-        }
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException(
-                        String.format("Пользователь %s не существует.", userId)));
-        PageRequestOverride pageRequest = PageRequestOverride.of(from, size);
-
-        List<BookingDto> bookingsUserList = bookingRepository.searchBookingByItemOwnerIdOrderByStartDesc(
-                        userId,
-                        pageRequest)
-                .stream()
-                .map(BookingMapper::toBookingDto)
-                .collect(Collectors.toList());
-
-        if (bookingsUserList.isEmpty()) {
+    @Transactional(readOnly = true)
+    public List<BookingDto> getAllBookingItemsUser(Long userId, String stateParam, int from, int size, String cursor) {
+        Status state = validateState(stateParam, from, size);
+        PageCursor after = cursor == null ? null : PageCursor.decode(cursor);
+        entityCache.getUser(userId);
+        List<BookingDto> bookingsUserList = bookingRepository
+                .findAllByFilter(
+                        BookingFilter.ofOwner(userId, state, LocalDateTime.now(), after),
+                        PageRequestOverride.of(after == null ? from : 0, size));
+        if (bookingsUserList.isEmpty() && !itemRepository.existsByOwnerId(userId)) {
             log.error("У пользователя нет вещей.");
             throw new EntityNotFoundException("У пользователя нет вещей.");
         }
-
-        switch (Status.valueOf(stateParam)) {
-            case ALL:
-                bookingsUserList.sort(Comparator.comparing(BookingDto::getStart).reversed());
-                return bookingsUserList;
-            case CURRENT:
-                return bookingRepository
-                        .findCurrentBookingsByItemOwnerIdOrderByStartDesc(
-                                userId,
-                                LocalDateTime.now(),
-                                pageRequest)
-                        .stream()
-                        .map(BookingMapper::toBookingDto)
-                        .collect(Collectors.toList());
-            case PAST:
-                return bookingRepository
-                        .findBookingsByItemOwnerIdAndEndIsBefore(
-                                userId,
-                                LocalDateTime.now(),
-                                pageRequest)
-                        .stream()
-                        .map(BookingMapper::toBookingDto)
-                        .collect(Collectors.toList());
-            case FUTURE:
-                return bookingRepository
-                        .searchBookingByItemOwnerIdAndStartIsAfterOrderByStartDesc(
-                                userId,
-                                LocalDateTime.now(),
-                                pageRequest)
-                        .stream()
-                        .map(BookingMapper::toBookingDto)
-                        .collect(Collectors.toList());
-            case WAITING:
-                return bookingRepository
-                        .findBookingsByItemOwnerIdOrderByStartDesc(
-                                userId,
-                                pageRequest)
-                        .stream()
-                        .filter(booking -> booking.getStatus().equals(WAITING))
-                        .map(BookingMapper::toBookingDto)
-                        .collect(Collectors.toList());
-            case REJECTED:
-                return bookingRepository
-                        .findBookingsByItemOwnerIdOrderByStartDesc(
-                                userId,
-                                pageRequest)
-                        .stream()
-                        .filter(booking -> booking.getStatus().equals(REJECTED))
-                        .map(BookingMapper::toBookingDto)
-                        .collect(Collectors.toList());
-            default:
-                return new ArrayList<>();
-        }
+        return bookingsUserList;
     }
 
     @Override
     @Transactional
     public BookingDto createBooking(Long userId, BookingCreateDto bookingDto) {
         Booking booking = BookingMapper.toBookingCreate(bookingDto);
-        booking.setBooker(userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException(
-                        String.format("Пользователь %s не существует.", userId))));
-        Item item = itemRepository.findById(bookingDto.getItemId())
-                .orElseThrow(() -> new EntityNotFoundException(
-                        String.format("Вещь %s не существует.", bookingDto.getItemId())));
-
-        if (item.getOwner().getId().equals(userId)) {
-            log.error("Владелец вещи не может забронировать свою вещь.");
-            throw new EntityNotFoundException("Владелец вещи не может забронировать свою вещь.");
-        }
-        if (booking.getEnd().isBefore(booking.getStart())) {
-            log.error("Некорректное время окончания бронирования.");
-            throw new BookingException("Некорректное время окончания бронирования.");
+        booking.setBooker(entityCache.getUser(userId));
+        Item item = entityCache.getItem(bookingDto.getItemId());
+        validateNewBooking(userId, booking, item);
+        BookingIntervalIndex.Reservation reservation = bookingIntervalIndex.reserve(
+                item.getId(), booking.getStart(), booking.getEnd());
+        if (reservation == null) {
+            log.error("Вещь {} уже забронирована на этот период.", item.getId());
+            throw new BookingException(
+                    String.format("Вещь %s уже забронирована на этот период.", item.getId()));
         }
-        if (booking.getStart().isBefore(LocalDateTime.now())) {
-            log.error("Некорректное время начала бронирования.");
-            throw new BookingException("Некорректное время начала бронирования.");
+        booking.setItem(item);
+        Booking bookingCreate = bookingRepository.save(booking);
+        reservation.confirm(bookingCreate.getId());
+        log.info("Создан пользователь: {} ", bookingCreate);
+        return BookingMapper.toBookingDto(bookingCreate);
+    }
+
+    @Override
+    @Transactional
+    public List<BatchResultDto<BookingDto>> createBookings(Long userId, List<BookingCreateDto> bookingDtos) {
+        if (bookingDtos.isEmpty() || bookingDtos.size() > batchMaxSize) {
+            log.error("Пакет должен содержать от 1 до {} бронирований.", batchMaxSize);
+            throw new ValidationException(
+                    String.format("Пакет должен содержать от 1 до %s бронирований.", batchMaxSize));
         }
-        if (item.getAvailable()) {
+        User booker = entityCache.getUser(userId);
+        Set<Long> itemIds = bookingDtos.stream()
+                .filter(Objects::nonNull)
+                .map(BookingCreateDto::getItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Item> itemsById = itemIds.isEmpty()
+                ? Map.of()
+                : itemRepository.findAllWithOwnerByIdIn(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        List<BatchResultDto<BookingDto>> results = new ArrayList<>(bookingDtos.size());
+        List<Booking> bookings = new ArrayList<>();
+        List<Integer> rows = new ArrayList<>();
+        List<BookingIntervalIndex.Reservation> reservations = new ArrayList<>();
+        for (int i = 0; i < bookingDtos.size(); i++) {
+            BookingCreateDto bookingDto = bookingDtos.get(i);
+            if (bookingDto == null || bookingDto.getStart() == null || bookingDto.getEnd() == null) {
+                results.add(BatchResultDto.rejected(i, "Необходимо указать время начала и окончания бронирования."));
+                continue;
+            }
+            Item item = itemsById.get(bookingDto.getItemId());
+            if (item == null) {
+                results.add(BatchResultDto.rejected(i,
+                        String.format("Вещь %s не существует.", bookingDto.getItemId())));
+                continue;
+            }
+            Booking booking = BookingMapper.toBookingCreate(bookingDto);
+            booking.setId(null);
+            try {
+                validateNewBooking(userId, booking, item);
+            } catch (EntityNotFoundException | BookingException | ValidationException e) {
+                results.add(BatchResultDto.rejected(i, e.getMessage()));
+                continue;
+            }
+            BookingIntervalIndex.Reservation reservation = bookingIntervalIndex.reserve(
+                    item.getId(), booking.getStart(), booking.getEnd());
+            if (reservation == null) {
+                results.add(BatchResultDto.rejected(i,
+                        String.format("Вещь %s уже забронирована на этот период.", item.getId())));
+                continue;
+            }
             booking.setItem(item);
-            Booking bookingCreate = bookingRepository.save(booking);
-            log.info("Создан пользователь: {} ", bookingCreate);
-            return BookingMapper.toBookingDto(bookingCreate);
-        } else {
-            log.error("Вещь {} не доступна для бронирования.", item.getId());
-            throw new ValidationException(
-                    String.format("Вещь %s не доступна для бронирования.", item.getId()));
+            booking.setBooker(booker);
+            reservations.add(reservation);
+            bookings.add(booking);
+            rows.add(i);
+            results.add(null);
+        }
+
+        List<Booking> bookingsCreate = bookingRepository.saveAll(bookings);
+        for (int i = 0; i < bookingsCreate.size(); i++) {
+            Booking bookingCreate = bookingsCreate.get(i);
+            reservations.get(i).confirm(bookingCreate.getId());
+            results.set(rows.get(i), BatchResultDto.created(rows.get(i), toBookingDto(bookingCreate)));
         }
+        log.info("Пакетно создано бронирований: {} из {}", bookingsCreate.size(), bookingDtos.size());
+        return results;
     }
 
     @Override
@@ -257,6 +195,17 @@ public class BookingServiceImpl implements BookingService {
             log.error("Необходимо указать статус возможности аренды (approved).");
             throw new BookingException("Необходимо указать статус возможности аренды (approved).");
         } else if (approved) {
+            if (!bookingIntervalIndex.contains(booking.getId())) {
+                // отклонённое бронирование освободило окно, его нужно занять заново
+                BookingIntervalIndex.Reservation reservation = bookingIntervalIndex.reserve(
+                        booking.getItem().getId(), booking.getStart(), booking.getEnd());
+                if (reservation == null) {
+                    log.error("Вещь {} уже забронирована на этот период.", booking.getItem().getId());
+                    throw new BookingException(String.format(
+                            "Вещь %s уже забронирована на этот период.", booking.getItem().getId()));
+                }
+                reservation.confirm(booking.getId());
+            }
             booking.setStatus(Status.APPROVED);
             Booking bookingSave = bookingRepository.save(booking);
             return toBookingDto(bookingSave);
@@ -264,6 +213,7 @@ public class BookingServiceImpl implements BookingService {
             booking.setStatus(REJECTED);
             booking.setItem(bookingDto.getItem());
             Booking bookingSave = bookingRepository.save(booking);
+            bookingIntervalIndex.remove(bookingSave.getId());
             log.info("Обновлён пользователь {}", bookingSave);
             return toBookingDto(bookingSave);
         }
@@ -274,5 +224,39 @@ public class BookingServiceImpl implements BookingService {
     public void removeBookingById(Long bookingId) {
         log.info("Вещь {} удалена", bookingId);
         bookingRepository.deleteById(bookingId);
+        bookingIntervalIndex.remove(bookingId);
+    }
+
+    private Status validateState(String stateParam, int from, int size) {
+        Status state = Status.from(stateParam);
+        if (state == null) {
+            log.error("Unknown state: " + stateParam);
+            throw new IllegalArgumentException("Unknown state: " + stateParam);
+        }
+        if (from < 0 || size <= 0) {
+            log.error("Переданы некорректные значения from и/или size");
+            throw new ValidationException("Переданы некорректные значения from и/или size");
+        }
+        return state;
+    }
+
+    private static void validateNewBooking(Long userId, Booking booking, Item item) {
+        if (item.getOwner().getId().equals(userId)) {
+            log.error("Владелец вещи не может забронировать свою вещь.");
+            throw new EntityNotFoundException("Владелец вещи не может забронировать свою вещь.");
+        }
+        if (booking.getEnd().isBefore(booking.getStart())) {
+            log.error("Некорректное время окончания бронирования.");
+            throw new BookingException("Некорректное время окончания бронирования.");
+        }
+        if (booking.getStart().isBefore(LocalDateTime.now())) {
+            log.error("Некорректное время начала бронирования.");
+            throw new BookingException("Некорректное время начала бронирования.");
+        }
+        if (!item.getAvailable()) {
+            log.error("Вещь {} не доступна для бронирования.", item.getId());
+            throw new ValidationException(
+                    String.format("Вещь %s не доступна для бронирования.", item.getId()));
+        }
     }
 }
@@ -0,0 +1,130 @@
+package ru.practicum.shareit.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+import static ru.practicum.shareit.TransactionCallbacks.afterCommit;
+
+/**
+ * Кэш пользователей и вещей для проверок существования и чтения.
+ * Кэш хранит отсоединённые копии сущностей и каждому вызову отдаёт новую копию,
+ * поэтому изменения у вызывающего не попадают в кэш и в другие потоки.
+ */
+@Component
+public class EntityCache {
+
+    private static final int VERSION_STRIPES = 64;
+
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final Cache<Long, User> users;
+    private final Cache<Long, Item> items;
+    private final AtomicLongArray userVersions = new AtomicLongArray(VERSION_STRIPES);
+    private final AtomicLongArray itemVersions = new AtomicLongArray(VERSION_STRIPES);
+
+    public EntityCache(UserRepository userRepository,
+                       ItemRepository itemRepository,
+                       MeterRegistry meterRegistry,
+                       @Value("${shareit.cache.maximum-size:10000}") long maximumSize,
+                       @Value("${shareit.cache.expire-after-write:5m}") Duration expireAfterWrite) {
+        this.userRepository = userRepository;
+        this.itemRepository = itemRepository;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.items = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "users");
+        CaffeineCacheMetrics.monitor(meterRegistry, items, "items");
+    }
+
+    public User getUser(Long userId) {
+        User user = get(users, userVersions, userId, id -> userRepository.findById(id).map(EntityCache::copy));
+        if (user == null) {
+            throw new EntityNotFoundException(String.format("Пользователь %s не существует.", userId));
+        }
+        return copy(user);
+    }
+
+    public Item getItem(Long itemId) {
+        Item item = get(items, itemVersions, itemId, id -> itemRepository.findById(id).map(EntityCache::copy));
+        if (item == null) {
+            throw new EntityNotFoundException(String.format("Вещь %s не существует.", itemId));
+        }
+        return copy(item);
+    }
+
+    public void evictUser(Long userId) {
+        afterCommit(() -> {
+            invalidate(users, userVersions, userId);
+            for (int i = 0; i < VERSION_STRIPES; i++) {
+                itemVersions.incrementAndGet(i);
+            }
+            items.invalidateAll();
+        });
+    }
+
+    public void evictItem(Long itemId) {
+        afterCommit(() -> invalidate(items, itemVersions, itemId));
+    }
+
+    /**
+     * Загрузка, начатая до сброса, могла прочитать данные до фиксации изменения.
+     * Если версия ключа за время загрузки изменилась, загруженное значение в кэше не остаётся.
+     */
+    private static <T> T get(Cache<Long, T> cache, AtomicLongArray versions, Long id,
+                             Function<Long, Optional<T>> loader) {
+        T cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+        int stripe = stripe(id);
+        long version = versions.get(stripe);
+        T loaded = loader.apply(id).orElse(null);
+        if (loaded == null) {
+            return null;
+        }
+        cache.put(id, loaded);
+        if (versions.get(stripe) != version) {
+            cache.asMap().remove(id, loaded);
+        }
+        return loaded;
+    }
+
+    private static <T> void invalidate(Cache<Long, T> cache, AtomicLongArray versions, Long id) {
+        versions.incrementAndGet(stripe(id));
+        cache.invalidate(id);
+    }
+
+    private static int stripe(Long id) {
+        return Long.hashCode(id) & (VERSION_STRIPES - 1);
+    }
+
+    private static User copy(User user) {
+        return new User(user.getId(), user.getEmail(), user.getName());
+    }
+
+    private static Item copy(Item item) {
+        return new Item(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                copy(item.getOwner()), item.getRequestId());
+    }
+}
@@ -1,7 +1,9 @@
 package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.BatchResultDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
@@ -15,6 +17,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ItemController {
 
+    public static final String OWNER_HEADER = "X-Item-Owner-Id";
+
     private final ItemService itemService;
     private final CommentService commentService;
 
@@ -26,11 +30,18 @@ public class ItemController {
         return itemService.getAllItems(userId, from, size);
     }
 
+    /**
+     * Владелец видит последнее и следующее бронирование, остальные пользователи - одинаковый ответ.
+     * Заголовок с владельцем позволяет шлюзу объединять запросы не-владельцев.
+     */
     @GetMapping(value = "/{itemId}")
-    public ItemDtoWithBooking getItemById(
+    public ResponseEntity<ItemDtoWithBooking> getItemById(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @PathVariable Long itemId) {
-        return itemService.getItemById(userId, itemId);
+        ItemDtoWithBooking item = itemService.getItemById(userId, itemId);
+        return ResponseEntity.ok()
+                .header(OWNER_HEADER, String.valueOf(itemService.getItemOwnerId(itemId)))
+                .body(item);
     }
 
     @GetMapping(value = "/search")
@@ -41,6 +52,13 @@ public class ItemController {
         return itemService.getItemSearch(text, from, size);
     }
 
+    @GetMapping(value = "/suggest")
+    public List<String> getItemSuggest(
+            @RequestParam(name = "prefix") String prefix,
+            @RequestParam(name = "size", defaultValue = "10") int size) {
+        return itemService.getItemSuggest(prefix, size);
+    }
+
     @PostMapping
     public ItemDto createItem(
             @RequestHeader("X-Sharer-User-Id") Long userId,
@@ -48,6 +66,13 @@ public class ItemController {
         return itemService.createItem(itemDto, userId);
     }
 
+    @PostMapping(value = "/batch")
+    public List<BatchResultDto<ItemDto>> createItems(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestBody List<ItemDto> itemDtos) {
+        return itemService.createItems(itemDtos, userId);
+    }
+
     @PostMapping(value = "/{itemId}/comment")
     public CommentDto createComment(
             @RequestHeader("X-Sharer-User-Id") Long userId,
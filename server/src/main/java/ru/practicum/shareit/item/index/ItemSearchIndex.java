@@ -0,0 +1,291 @@
+package ru.practicum.shareit.item.index;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static ru.practicum.shareit.TransactionCallbacks.afterCommit;
+
+/**
+ * Инвертированный индекс по названию и описанию вещей: терм -> отсортированный список id вещей.
+ * Поиск сохраняет семантику подстроки (like '%text%'): индекс отбирает кандидатов,
+ * а совпадение проверяется по сохранённому тексту вещи.
+ * Термы и их суффиксы хранятся в отсортированных картах, поэтому кандидаты находятся
+ * точным поиском терма, поиском по префиксу терма или по префиксу суффикса (вхождение в терм).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemSearchIndex {
+
+    private final ItemRepository itemRepository;
+
+    private final NavigableMap<String, Postings> postingsByTerm = new TreeMap<>();
+    private final NavigableMap<String, Set<String>> termsBySuffix = new TreeMap<>();
+    private final Map<Long, IndexedItem> itemsById = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @PostConstruct
+    public void init() {
+        List<ItemDto> items = itemRepository.findAllForIndex();
+        lock.writeLock().lock();
+        try {
+            for (ItemDto item : items) {
+                index(item);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Индекс поиска построен: {} вещей, {} термов", itemsById.size(), postingsByTerm.size());
+    }
+
+    public void put(ItemDto item) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                unindex(item.getId());
+                index(item);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(Long itemId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                unindex(itemId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public List<Long> search(String text, int from, int size) {
+        String query = text.toLowerCase(Locale.ROOT);
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return new ArrayList<>();
+        }
+        lock.readLock().lock();
+        try {
+            long[] candidates = candidates(query, tokens);
+            List<Long> result = new ArrayList<>(size);
+            int skipped = 0;
+            for (long id : candidates) {
+                IndexedItem item = itemsById.get(id);
+                if (!item.available || !item.matches(query)) {
+                    continue;
+                }
+                if (skipped < from) {
+                    skipped++;
+                    continue;
+                }
+                result.add(id);
+                if (result.size() == size) {
+                    break;
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Слово внутри запроса совпадает с термом целиком, последнее слово может быть началом терма,
+     * первое - концом терма, а единственное - любой его частью. Берётся самое длинное слово,
+     * при равной длине - с более точным поиском.
+     */
+    private long[] candidates(String query, List<String> tokens) {
+        boolean startsInWord = Character.isLetterOrDigit(query.charAt(0));
+        boolean endsInWord = Character.isLetterOrDigit(query.charAt(query.length() - 1));
+        int best = 0;
+        int bestRank = -1;
+        for (int i = 0; i < tokens.size(); i++) {
+            int rank = tokens.get(i).length() * 3
+                    + (i == 0 && startsInWord ? 0 : 1)
+                    + (i == tokens.size() - 1 && endsInWord ? 0 : 1);
+            if (rank > bestRank) {
+                best = i;
+                bestRank = rank;
+            }
+        }
+        String token = tokens.get(best);
+        boolean first = best == 0 && startsInWord;
+        boolean last = best == tokens.size() - 1 && endsInWord;
+        List<Postings> matched = new ArrayList<>();
+        if (first) {
+            for (String term : termsContaining(token)) {
+                matched.add(postingsByTerm.get(term));
+            }
+        } else if (last) {
+            matched.addAll(postingsByTerm.subMap(token, true, token + Character.MAX_VALUE, false).values());
+        } else if (postingsByTerm.containsKey(token)) {
+            matched.add(postingsByTerm.get(token));
+        }
+        return union(matched);
+    }
+
+    private Set<String> termsContaining(String token) {
+        Set<String> terms = new HashSet<>();
+        for (Set<String> suffixTerms
+                : termsBySuffix.subMap(token, true, token + Character.MAX_VALUE, false).values()) {
+            terms.addAll(suffixTerms);
+        }
+        return terms;
+    }
+
+    private static long[] union(List<Postings> matched) {
+        if (matched.isEmpty()) {
+            return new long[0];
+        }
+        int total = 0;
+        for (Postings postings : matched) {
+            total += postings.size;
+        }
+        if (matched.size() == 1) {
+            return Arrays.copyOf(matched.get(0).ids, matched.get(0).size);
+        }
+        long[] ids = new long[total];
+        int position = 0;
+        for (Postings postings : matched) {
+            System.arraycopy(postings.ids, 0, ids, position, postings.size);
+            position += postings.size;
+        }
+        return distinctSorted(ids);
+    }
+
+    private void index(ItemDto item) {
+        IndexedItem indexedItem = new IndexedItem(
+                item.getName() == null ? "" : item.getName().toLowerCase(Locale.ROOT),
+                item.getDescription() == null ? "" : item.getDescription().toLowerCase(Locale.ROOT),
+                Boolean.TRUE.equals(item.getAvailable()));
+        itemsById.put(item.getId(), indexedItem);
+        for (String term : indexedItem.terms) {
+            postingsByTerm.computeIfAbsent(term, t -> {
+                for (int i = 0; i < t.length(); i++) {
+                    termsBySuffix.computeIfAbsent(t.substring(i), suffix -> new HashSet<>()).add(t);
+                }
+                return new Postings();
+            }).add(item.getId());
+        }
+    }
+
+    private void unindex(Long itemId) {
+        IndexedItem indexedItem = itemsById.remove(itemId);
+        if (indexedItem == null) {
+            return;
+        }
+        for (String term : indexedItem.terms) {
+            Postings postings = postingsByTerm.get(term);
+            postings.remove(itemId);
+            if (postings.size == 0) {
+                postingsByTerm.remove(term);
+                for (int i = 0; i < term.length(); i++) {
+                    Set<String> terms = termsBySuffix.get(term.substring(i));
+                    terms.remove(term);
+                    if (terms.isEmpty()) {
+                        termsBySuffix.remove(term.substring(i));
+                    }
+                }
+            }
+        }
+    }
+
+    private static long[] distinctSorted(long[] ids) {
+        if (ids.length == 0) {
+            return ids;
+        }
+        Arrays.sort(ids);
+        int size = 1;
+        for (int i = 1; i < ids.length; i++) {
+            if (ids[i] != ids[size - 1]) {
+                ids[size++] = ids[i];
+            }
+        }
+        return Arrays.copyOf(ids, size);
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static class IndexedItem {
+
+        private final String name;
+        private final String description;
+        private final boolean available;
+        private final Set<String> terms = new LinkedHashSet<>();
+
+        IndexedItem(String name, String description, boolean available) {
+            this.name = name;
+            this.description = description;
+            this.available = available;
+            terms.addAll(tokenize(name));
+            terms.addAll(tokenize(description));
+        }
+
+        boolean matches(String query) {
+            return name.contains(query) || description.contains(query);
+        }
+    }
+
+    private static class Postings {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            position = -position - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+
+        void remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package ru.practicum.shareit.item.index;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static ru.practicum.shareit.TransactionCallbacks.afterCommit;
+
+/**
+ * Тернарное дерево поиска по названиям доступных вещей для подсказок при вводе.
+ * Подсказки упорядочены по числу вещей с таким названием, затем по алфавиту.
+ * Каждый узел хранит topSize лучших названий своего поддерева, поэтому подсказка не обходит
+ * всё поддерево префикса; списки пересчитываются вдоль пути при изменении названия.
+ * Узлы, оставшиеся без названий, удаляются.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemSuggestIndex {
+
+    private static final Comparator<Node> BY_RANK = Comparator.<Node>comparingInt(node -> node.count)
+            .reversed()
+            .thenComparing(node -> node.name);
+
+    private static final Node[] EMPTY = new Node[0];
+
+    private final ItemRepository itemRepository;
+
+    @Value("${shareit.items.suggest-top-size:20}")
+    private int topSize;
+
+    private final Map<Long, String> namesById = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node root;
+
+    @PostConstruct
+    public void init() {
+        List<ItemDto> items = itemRepository.findAllForIndex();
+        lock.writeLock().lock();
+        try {
+            for (ItemDto item : items) {
+                index(item);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Индекс подсказок построен: {} вещей", namesById.size());
+    }
+
+    public void put(ItemDto item) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                unindex(item.getId());
+                index(item);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(Long itemId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                unindex(itemId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public List<String> suggest(String prefix, int size) {
+        String key = prefix.toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            Node node = find(key);
+            if (node == null) {
+                return new ArrayList<>();
+            }
+            if (size <= topSize) {
+                return top(node, size);
+            }
+            PriorityQueue<Node> top = new PriorityQueue<>(size + 1, BY_RANK.reversed());
+            offer(top, node, size);
+            Deque<Node> stack = new ArrayDeque<>();
+            if (node.eq != null) {
+                stack.push(node.eq);
+            }
+            while (!stack.isEmpty()) {
+                Node current = stack.pop();
+                offer(top, current, size);
+                if (current.lo != null) {
+                    stack.push(current.lo);
+                }
+                if (current.eq != null) {
+                    stack.push(current.eq);
+                }
+                if (current.hi != null) {
+                    stack.push(current.hi);
+                }
+            }
+            List<Node> ranked = new ArrayList<>(top);
+            ranked.sort(BY_RANK);
+            List<String> suggestions = new ArrayList<>(ranked.size());
+            for (Node rankedNode : ranked) {
+                suggestions.add(rankedNode.name);
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Лучшие названия префикса: сам узел и список лучших его eq-поддерева.
+     */
+    private static List<String> top(Node node, int size) {
+        Node[] candidates = node.eq == null ? EMPTY : node.eq.top;
+        List<Node> ranked = new ArrayList<>(Math.min(size, candidates.length) + 1);
+        ranked.addAll(Arrays.asList(candidates).subList(0, Math.min(size, candidates.length)));
+        if (node.count > 0) {
+            ranked.add(node);
+            ranked.sort(BY_RANK);
+        }
+        List<String> suggestions = new ArrayList<>(Math.min(size, ranked.size()));
+        for (int i = 0; i < ranked.size() && i < size; i++) {
+            suggestions.add(ranked.get(i).name);
+        }
+        return suggestions;
+    }
+
+    private static void offer(PriorityQueue<Node> top, Node node, int size) {
+        if (node.count == 0) {
+            return;
+        }
+        top.offer(node);
+        if (top.size() > size) {
+            top.poll();
+        }
+    }
+
+    private Node find(String key) {
+        List<Node> path = path(key);
+        return path == null ? null : path.get(path.size() - 1);
+    }
+
+    /**
+     * Узлы от корня до узла ключа включительно или null, если ключа нет в дереве.
+     */
+    private List<Node> path(String key) {
+        if (key.isEmpty()) {
+            return null;
+        }
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        int position = 0;
+        while (node != null) {
+            path.add(node);
+            char c = key.charAt(position);
+            if (c < node.c) {
+                node = node.lo;
+            } else if (c > node.c) {
+                node = node.hi;
+            } else if (position == key.length() - 1) {
+                return path;
+            } else {
+                position++;
+                node = node.eq;
+            }
+        }
+        return null;
+    }
+
+    private void index(ItemDto item) {
+        if (!Boolean.TRUE.equals(item.getAvailable()) || item.getName() == null || item.getName().isBlank()) {
+            return;
+        }
+        String name = item.getName().trim();
+        String key = name.toLowerCase(Locale.ROOT);
+        if (root == null) {
+            root = new Node(key.charAt(0));
+        }
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        int position = 0;
+        while (true) {
+            path.add(node);
+            char c = key.charAt(position);
+            if (c < node.c) {
+                if (node.lo == null) {
+                    node.lo = new Node(c);
+                }
+                node = node.lo;
+            } else if (c > node.c) {
+                if (node.hi == null) {
+                    node.hi = new Node(c);
+                }
+                node = node.hi;
+            } else if (position == key.length() - 1) {
+                break;
+            } else {
+                position++;
+                if (node.eq == null) {
+                    node.eq = new Node(key.charAt(position));
+                }
+                node = node.eq;
+            }
+        }
+        if (node.count++ == 0) {
+            node.name = name;
+        }
+        namesById.put(item.getId(), key);
+        updateTop(path);
+    }
+
+    private void unindex(Long itemId) {
+        String key = namesById.remove(itemId);
+        if (key == null) {
+            return;
+        }
+        List<Node> path = path(key);
+        if (path == null) {
+            return;
+        }
+        Node node = path.get(path.size() - 1);
+        if (node.count > 0 && --node.count == 0) {
+            node.name = null;
+        }
+        prune(path);
+        updateTop(path);
+    }
+
+    /**
+     * Удаляет с пути узлы без названия и без eq-потомка. Узел с одним из lo или hi
+     * заменяется этим потомком: порядок символов на уровне при этом сохраняется.
+     */
+    private void prune(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node node = path.get(i);
+            if (node.count > 0 || node.eq != null || node.lo != null && node.hi != null) {
+                continue;
+            }
+            Node replacement = node.lo != null ? node.lo : node.hi;
+            Node parent = i > 0 ? path.get(i - 1) : null;
+            if (parent == null) {
+                root = replacement;
+            } else if (parent.lo == node) {
+                parent.lo = replacement;
+            } else if (parent.eq == node) {
+                parent.eq = replacement;
+            } else {
+                parent.hi = replacement;
+            }
+            path.remove(i);
+        }
+    }
+
+    /**
+     * Пересчитывает списки лучших снизу вверх: узел, затем списки lo, eq и hi.
+     */
+    private void updateTop(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node node = path.get(i);
+            List<Node> ranked = new ArrayList<>();
+            if (node.count > 0) {
+                ranked.add(node);
+            }
+            for (Node child : new Node[]{node.lo, node.eq, node.hi}) {
+                if (child != null) {
+                    ranked.addAll(Arrays.asList(child.top));
+                }
+            }
+            ranked.sort(BY_RANK);
+            node.top = ranked.subList(0, Math.min(topSize, ranked.size())).toArray(EMPTY);
+        }
+    }
+
+    private static class Node {
+
+        private final char c;
+        private Node lo;
+        private Node eq;
+        private Node hi;
+        private int count;
+        private String name;
+        private Node[] top = EMPTY;
+
+        Node(char c) {
+            this.c = c;
+        }
+    }
+}
@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 public class Comment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comments_id_generator")
+    @SequenceGenerator(name = "comments_id_generator", sequenceName = "comments_seq", allocationSize = 50)
     @Column(name = "comment_id")
     Long id;
 
@@ -18,7 +18,8 @@ import javax.persistence.*;
 public class Item {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_id_generator")
+    @SequenceGenerator(name = "items_id_generator", sequenceName = "items_seq", allocationSize = 50)
     @Column(name = "item_id")
     Long id;
 
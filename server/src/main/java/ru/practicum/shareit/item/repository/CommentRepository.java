@@ -1,11 +1,24 @@
 package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.dto.CommentView;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
-    List<Comment> findAllByItemId(long id);
+    @Query(value = "select c.item_id as \"itemId\", c.comment_id as \"id\", c.comment_text as \"text\", " +
+            "u.user_name as \"authorName\", c.created as \"created\" " +
+            "from (select cm.comment_id, cm.comment_text, cm.item_id, cm.author_id, cm.created, " +
+            "row_number() over (partition by cm.item_id order by cm.created desc, cm.comment_id desc) as rn " +
+            "from comments as cm " +
+            "where cm.item_id in ?1) as c " +
+            "join users as u on u.user_id = c.author_id " +
+            "where c.rn <= ?2 " +
+            "order by c.item_id, c.comment_id",
+            nativeQuery = true)
+    List<CommentView> findAllByItemIdIn(Collection<Long> itemIds, int limit);
 }
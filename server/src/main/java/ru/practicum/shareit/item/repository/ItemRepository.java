@@ -3,17 +3,34 @@ package ru.practicum.shareit.item.repository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.PageRequestOverride;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
-    @Query(" select i from Item i " +
-            "where upper(i.name) like upper(concat('%', ?1, '%')) " +
-            " or upper(i.description) like upper(concat('%', ?1, '%'))")
-    List<Item> search(String text, PageRequestOverride pageRequest);
+    @Query("select new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, i.requestId) " +
+            "from Item i")
+    List<ItemDto> findAllForIndex();
+
+    @Query("select new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, i.requestId) " +
+            "from Item i " +
+            "where i.id in ?1 " +
+            "and i.available = true " +
+            "order by i.id")
+    List<ItemDto> findAvailableByIdIn(Collection<Long> ids);
+
+    @Query("select i from Item i join fetch i.owner where i.id in ?1")
+    List<Item> findAllWithOwnerByIdIn(Collection<Long> ids);
 
     List<Item> findByRequestId(Long id);
 
-}
\ No newline at end of file
+    List<Item> findByRequestIdIn(Collection<Long> ids);
+
+    List<Item> findAllByOwnerIdOrderById(Long ownerId, PageRequestOverride pageRequest);
+
+    boolean existsByOwnerId(Long ownerId);
+
+}
@@ -6,17 +6,15 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.cache.EntityCache;
 import ru.practicum.shareit.exception.BookingException;
-import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
-import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 
@@ -27,9 +25,8 @@ import java.time.LocalDateTime;
 public class CommentServiceImpl implements CommentService {
 
     private final CommentRepository commentRepository;
-    private final ItemRepository itemRepository;
-    private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
+    private final EntityCache entityCache;
 
     @Override
     @Transactional
@@ -44,12 +41,8 @@ public class CommentServiceImpl implements CommentService {
             throw new BookingException(String.format("Пользователь %s не брал в аренду вещь %d.", userId, itemId));
         }
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException(
-                        String.format("Пользователь %s не существует.", userId)));
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new EntityNotFoundException(
-                        String.format("Вещь %s не существует.", itemId)));
+        User user = entityCache.getUser(userId);
+        Item item = entityCache.getItem(itemId);
 
         Comment comment = CommentMapper.toComment(commentDto);
         comment.setItem(item);
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.BatchResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
 
@@ -10,10 +11,16 @@ public interface ItemService {
 
     ItemDtoWithBooking getItemById(Long userId, Long itemId);
 
+    Long getItemOwnerId(Long itemId);
+
     List<ItemDto> getItemSearch(String text, int from, int size);
 
+    List<String> getItemSuggest(String prefix, int size);
+
     ItemDto createItem(ItemDto itemDto, Long userId);
 
+    List<BatchResultDto<ItemDto>> createItems(List<ItemDto> itemDtos, Long userId);
+
     void removeItemById(Long id);
 
     ItemDto patchItem(ItemDto itemDto, Long userId, Long id);
@@ -2,29 +2,39 @@ package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.BatchResultDto;
 import ru.practicum.shareit.PageRequestOverride;
-import ru.practicum.shareit.booking.dto.BookingItemDto;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.dto.BookingShortView;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.cache.EntityCache;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentView;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
+import ru.practicum.shareit.item.index.ItemSearchIndex;
+import ru.practicum.shareit.item.index.ItemSuggestIndex;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
-import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.booking.mapper.BookingMapper.toBookingDtoForItem;
@@ -36,9 +46,18 @@ import static ru.practicum.shareit.item.mapper.ItemMapper.toItemDtoWithBooking;
 public class ItemServiceImpl implements ItemService {
 
     private final ItemRepository itemRepository;
-    private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemSuggestIndex itemSuggestIndex;
+    private final ItemRequestRepository itemRequestRepository;
+    private final EntityCache entityCache;
+
+    @Value("${shareit.items.comments-limit:0}")
+    private int commentsLimit;
+
+    @Value("${shareit.batch.max-size:1000}")
+    private int batchMaxSize;
 
     @Override
     public List<ItemDtoWithBooking> getAllItems(Long userId, int from, int size) {
@@ -48,84 +67,132 @@ public class ItemServiceImpl implements ItemService {
         }
         PageRequestOverride pageRequest = PageRequestOverride.of(from, size);
 
-        List<ItemDtoWithBooking> itemsDtoWithBookingList = itemRepository.findAll(pageRequest)
+        List<ItemDtoWithBooking> itemsDtoWithBookingList = itemRepository.findAllByOwnerIdOrderById(userId, pageRequest)
                 .stream()
-                .filter(item -> item.getOwner().getId().equals(userId))
                 .map(ItemMapper::toItemDtoWithBooking)
                 .collect(Collectors.toList());
-        for (ItemDtoWithBooking itemDtoWithBooking : itemsDtoWithBookingList) {
-            createLastAndNextBooking(itemDtoWithBooking);
-            List<Comment> comments = commentRepository.findAllByItemId(itemDtoWithBooking.getId());
-            if (!comments.isEmpty()) {
-                itemDtoWithBooking.setComments(comments
-                        .stream().map(CommentMapper::toCommentDto)
-                        .collect(Collectors.toList()));
-            }
-        }
-        itemsDtoWithBookingList.sort(Comparator.comparing(ItemDtoWithBooking::getId));
+        createLastAndNextBookings(itemsDtoWithBookingList);
+        createComments(itemsDtoWithBookingList);
         log.info("Все бронирования:");
         return itemsDtoWithBookingList;
     }
 
     @Override
     public ItemDtoWithBooking getItemById(Long userId, Long itemId) {
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new EntityNotFoundException(
-                        String.format("Вещь %s не существует.", itemId)));
+        Item item = entityCache.getItem(itemId);
 
         ItemDtoWithBooking itemDtoWithBooking = toItemDtoWithBooking(item);
         if (item.getOwner().getId().equals(userId)) {
-            createLastAndNextBooking(itemDtoWithBooking);
-        }
-        List<Comment> comments = commentRepository.findAllByItemId(itemId);
-        if (!comments.isEmpty()) {
-            itemDtoWithBooking.setComments(comments
-                    .stream().map(CommentMapper::toCommentDto)
-                    .collect(Collectors.toList())
-            );
+            createLastAndNextBookings(List.of(itemDtoWithBooking));
         }
+        createComments(List.of(itemDtoWithBooking));
         log.info("Вещь {}", itemId);
         return itemDtoWithBooking;
     }
 
+    @Override
+    public Long getItemOwnerId(Long itemId) {
+        return entityCache.getItem(itemId).getOwner().getId();
+    }
+
     @Override
     public List<ItemDto> getItemSearch(String text, int from, int size) {
         if (from < 0 || size <= 0) {
             log.error("Переданы некорректные значения from и/или size");
             throw new ValidationException("Переданы некорректные значения from и/или size");
         }
-        PageRequestOverride pageRequest = PageRequestOverride.of(from, size);
-
         if (text.isEmpty()) {
             log.info("Результат поиска: ");
             return new ArrayList<>();
         }
-        log.info("Результат поиска: ");
-        return itemRepository.search(text, pageRequest)
-                .stream()
-                .filter(Item::getAvailable)
-                .map(ItemMapper::toItemDto)
-                .collect(Collectors.toList());
+        List<Long> itemIds = itemSearchIndex.search(text, from, size);
+        log.info("Результат поиска: {}", itemIds);
+        if (itemIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return itemRepository.findAvailableByIdIn(itemIds);
+    }
+
+    @Override
+    public List<String> getItemSuggest(String prefix, int size) {
+        if (size <= 0) {
+            log.error("Передано некорректное значение size");
+            throw new ValidationException("Передано некорректное значение size");
+        }
+        if (prefix.isBlank()) {
+            return new ArrayList<>();
+        }
+        return itemSuggestIndex.suggest(prefix.trim(), size);
     }
 
     @Override
     @Transactional
     public ItemDto createItem(ItemDto itemDto, Long userId) {
-        if (itemDto.getName().isBlank() || itemDto.getDescription() == null || itemDto.getAvailable() == null) {
-            log.error("Данное поле не может быть пустым.");
-            throw new ValidationException("Данное поле не может быть пустым.");
-        }
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException(
-                        String.format("Пользователь %s не существует.", userId)));
+        validateNewItem(itemDto);
+        User user = entityCache.getUser(userId);
         Item item = ItemMapper.toItem(itemDto);
         item.setOwner(user);
         if (itemDto.getRequestId() != null) {
             item.setRequestId(itemDto.getRequestId());
         }
         Item itemCreate = itemRepository.save(item);
+        ItemDto itemDtoCreate = ItemMapper.toItemDto(itemCreate);
+        itemSearchIndex.put(itemDtoCreate);
+        itemSuggestIndex.put(itemDtoCreate);
         log.info("Добавлена вещь:{}", itemCreate);
-        return ItemMapper.toItemDto(itemCreate);
+        return itemDtoCreate;
+    }
+
+    @Override
+    @Transactional
+    public List<BatchResultDto<ItemDto>> createItems(List<ItemDto> itemDtos, Long userId) {
+        if (itemDtos.isEmpty() || itemDtos.size() > batchMaxSize) {
+            log.error("Пакет должен содержать от 1 до {} вещей.", batchMaxSize);
+            throw new ValidationException(String.format("Пакет должен содержать от 1 до %s вещей.", batchMaxSize));
+        }
+        User user = entityCache.getUser(userId);
+        Set<Long> requestIds = itemDtos.stream()
+                .filter(Objects::nonNull)
+                .map(ItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> existingRequestIds = requestIds.isEmpty()
+                ? Set.of()
+                : new HashSet<>(itemRequestRepository.findExistingIds(requestIds));
+
+        List<BatchResultDto<ItemDto>> results = new ArrayList<>(itemDtos.size());
+        List<Item> items = new ArrayList<>();
+        List<Integer> rows = new ArrayList<>();
+        for (int i = 0; i < itemDtos.size(); i++) {
+            ItemDto itemDto = itemDtos.get(i);
+            try {
+                validateNewItem(itemDto);
+            } catch (ValidationException e) {
+                results.add(BatchResultDto.rejected(i, e.getMessage()));
+                continue;
+            }
+            if (itemDto.getRequestId() != null && !existingRequestIds.contains(itemDto.getRequestId())) {
+                results.add(BatchResultDto.rejected(i,
+                        String.format("Запрос %s не существует.", itemDto.getRequestId())));
+                continue;
+            }
+            Item item = ItemMapper.toItem(itemDto);
+            item.setId(null);
+            item.setOwner(user);
+            items.add(item);
+            rows.add(i);
+            results.add(null);
+        }
+
+        List<Item> itemsCreate = itemRepository.saveAll(items);
+        for (int i = 0; i < itemsCreate.size(); i++) {
+            ItemDto itemDtoCreate = ItemMapper.toItemDto(itemsCreate.get(i));
+            itemSearchIndex.put(itemDtoCreate);
+            itemSuggestIndex.put(itemDtoCreate);
+            results.set(rows.get(i), BatchResultDto.created(rows.get(i), itemDtoCreate));
+        }
+        log.info("Пакетно добавлено вещей: {} из {}", itemsCreate.size(), itemDtos.size());
+        return results;
     }
 
     @Override
@@ -133,6 +200,9 @@ public class ItemServiceImpl implements ItemService {
     public void removeItemById(Long id) {
         log.info("Удалена вещь с id {}", id);
         itemRepository.deleteById(id);
+        itemSearchIndex.remove(id);
+        itemSuggestIndex.remove(id);
+        entityCache.evictItem(id);
     }
 
     @Override
@@ -142,51 +212,66 @@ public class ItemServiceImpl implements ItemService {
         final Item itemUpdate = itemRepository.findById(itemId)
                 .orElseThrow(() -> new EntityNotFoundException(
                         String.format("Вещь %s не существует.", itemId)));
-        if (itemUpdate.getOwner().getId().equals(userId)) {
-            if (item.getAvailable() != null && item.getName() == null && item.getDescription() == null) {
-                itemUpdate.setAvailable(item.getAvailable());
-                itemRepository.save(itemUpdate);
-                log.info("Обновлена вещь {}", itemUpdate);
-                return ItemMapper.toItemDto(itemUpdate);
-            } else if (item.getName() != null && item.getAvailable() == null && item.getDescription() == null) {
-                itemUpdate.setName(item.getName());
-                itemRepository.save(itemUpdate);
-                log.info("Обновлена вещь {}", itemUpdate);
-                return ItemMapper.toItemDto(itemUpdate);
-            } else if (item.getDescription() != null && item.getName() == null && item.getAvailable() == null) {
-                itemUpdate.setDescription(item.getDescription());
-                itemRepository.save(itemUpdate);
-                log.info("Обновлена вещь {}", itemUpdate);
-                return ItemMapper.toItemDto(itemUpdate);
-            } else {
-                itemUpdate.setName(item.getName());
-                itemUpdate.setDescription(item.getDescription());
-                itemUpdate.setAvailable(item.getAvailable());
-                itemRepository.save(itemUpdate);
-                log.info("Обновлена вещь {}", itemUpdate);
-                return ItemMapper.toItemDto(itemUpdate);
-            }
-        } else {
+        if (!itemUpdate.getOwner().getId().equals(userId)) {
             log.error("Пользователь {} не владеет вещью.", userId);
             throw new EntityNotFoundException(
                     String.format("Пользователь %s не владеет вещью.", userId));
         }
+        if (item.getAvailable() != null && item.getName() == null && item.getDescription() == null) {
+            itemUpdate.setAvailable(item.getAvailable());
+        } else if (item.getName() != null && item.getAvailable() == null && item.getDescription() == null) {
+            itemUpdate.setName(item.getName());
+        } else if (item.getDescription() != null && item.getName() == null && item.getAvailable() == null) {
+            itemUpdate.setDescription(item.getDescription());
+        } else {
+            itemUpdate.setName(item.getName());
+            itemUpdate.setDescription(item.getDescription());
+            itemUpdate.setAvailable(item.getAvailable());
+        }
+        itemRepository.save(itemUpdate);
+        ItemDto itemDtoUpdate = ItemMapper.toItemDto(itemUpdate);
+        itemSearchIndex.put(itemDtoUpdate);
+        itemSuggestIndex.put(itemDtoUpdate);
+        entityCache.evictItem(itemId);
+        log.info("Обновлена вещь {}", itemUpdate);
+        return itemDtoUpdate;
+    }
+
+    private void createLastAndNextBookings(List<ItemDtoWithBooking> itemsDtoWithBooking) {
+        if (itemsDtoWithBooking.isEmpty()) {
+            return;
+        }
+        Map<Long, ItemDtoWithBooking> itemsById = itemsDtoWithBooking.stream()
+                .collect(Collectors.toMap(ItemDtoWithBooking::getId, Function.identity()));
+        LocalDateTime now = LocalDateTime.now();
+        for (BookingShortView lastBooking : bookingRepository.findLastBookingsByItemIds(itemsById.keySet(), now)) {
+            itemsById.get(lastBooking.getItemId()).setLastBooking(toBookingDtoForItem(lastBooking));
+        }
+        for (BookingShortView nextBooking : bookingRepository.findNextBookingsByItemIds(itemsById.keySet(), now)) {
+            itemsById.get(nextBooking.getItemId()).setNextBooking(toBookingDtoForItem(nextBooking));
+        }
     }
 
-    private void createLastAndNextBooking(ItemDtoWithBooking itemDtoWithBooking) {
-        List<Booking> lastBookings = bookingRepository
-                .findBookingsByItemIdAndEndIsBeforeOrderByEndDesc(itemDtoWithBooking.getId(),
-                        LocalDateTime.now());
-        if (!lastBookings.isEmpty()) {
-            BookingItemDto lastBooking = toBookingDtoForItem(lastBookings.get(0));
-            itemDtoWithBooking.setLastBooking(lastBooking);
-        }
-        List<Booking> nextBookings = bookingRepository
-                .findBookingsByItemIdAndStartIsAfterOrderByStartDesc(itemDtoWithBooking.getId(),
-                        LocalDateTime.now());
-        if (!nextBookings.isEmpty()) {
-            BookingItemDto nextBooking = toBookingDtoForItem(nextBookings.get(0));
-            itemDtoWithBooking.setNextBooking(nextBooking);
+    private void createComments(List<ItemDtoWithBooking> itemsDtoWithBooking) {
+        if (itemsDtoWithBooking.isEmpty()) {
+            return;
+        }
+        Map<Long, ItemDtoWithBooking> itemsById = itemsDtoWithBooking.stream()
+                .collect(Collectors.toMap(ItemDtoWithBooking::getId, Function.identity()));
+        int limit = commentsLimit > 0 ? commentsLimit : Integer.MAX_VALUE;
+        Map<Long, List<CommentDto>> commentsByItemId = new HashMap<>();
+        for (CommentView comment : commentRepository.findAllByItemIdIn(itemsById.keySet(), limit)) {
+            commentsByItemId.computeIfAbsent(comment.getItemId(), id -> new ArrayList<>())
+                    .add(CommentMapper.toCommentDto(comment));
+        }
+        commentsByItemId.forEach((itemId, comments) -> itemsById.get(itemId).setComments(comments));
+    }
+
+    private static void validateNewItem(ItemDto itemDto) {
+        if (itemDto == null || itemDto.getName() == null || itemDto.getName().isBlank()
+                || itemDto.getDescription() == null || itemDto.getAvailable() == null) {
+            log.error("Данное поле не может быть пустым.");
+            throw new ValidationException("Данное поле не может быть пустым.");
         }
     }
-}
\ No newline at end of file
+}
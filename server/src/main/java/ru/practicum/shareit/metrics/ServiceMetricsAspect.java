@@ -0,0 +1,69 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.Status;
+
+/**
+ * Время выполнения публичных методов сервисов: таймер shareit.service с тегами
+ * service, method, exception и state. У методов без stateParam тег state равен none:
+ * Prometheus требует одинаковый набор тегов у всех таймеров с одним именем.
+ * Аспект внешний по отношению к @Transactional, поэтому время включает фиксацию транзакции.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    private static final String STATE_PARAMETER = "stateParam";
+    private static final String NO_STATE = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * ru.practicum.shareit..service.*ServiceImpl.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            Timer.Builder timer = Timer.builder("shareit.service")
+                    .tag("service", signature.getDeclaringType().getSimpleName().replace("Impl", ""))
+                    .tag("method", signature.getName())
+                    .tag("exception", exception)
+                    .tag("state", state(signature, joinPoint.getArgs()));
+            sample.stop(timer.register(meterRegistry));
+        }
+    }
+
+    /**
+     * Значение stateParam, приведённое к Status, чтобы произвольные строки не порождали новые теги,
+     * или none, если у метода нет stateParam.
+     */
+    private static String state(MethodSignature signature, Object[] args) {
+        String[] names = signature.getParameterNames();
+        if (names == null) {
+            return NO_STATE;
+        }
+        for (int i = 0; i < names.length; i++) {
+            if (STATE_PARAMETER.equals(names[i])) {
+                Status status = args[i] instanceof String ? Status.from((String) args[i]) : null;
+                return status == null ? "UNKNOWN" : status.name();
+            }
+        }
+        return NO_STATE;
+    }
+}
@@ -1,7 +1,9 @@
 package ru.practicum.shareit.request.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.PageCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestWithItemDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
@@ -16,8 +18,11 @@ public class ItemRequestController {
     private final ItemRequestService itemRequestService;
 
     @GetMapping
-    public List<ItemRequestWithItemDto> getAllItemRequest(@RequestHeader("X-Sharer-User-Id") Long userId) {
-        return itemRequestService.getAllItemRequest(userId);
+    public List<ItemRequestWithItemDto> getAllItemRequest(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(name = "from", defaultValue = "0") int from,
+            @RequestParam(name = "size", defaultValue = "20") int size) {
+        return itemRequestService.getAllItemRequest(userId, from, size);
     }
 
     @GetMapping(value = "/{requestId}")
@@ -28,11 +33,19 @@ public class ItemRequestController {
     }
 
     @GetMapping(value = "/all")
-    private List<ItemRequestWithItemDto> getItemRequestOtherUsers(
+    private ResponseEntity<List<ItemRequestWithItemDto>> getItemRequestOtherUsers(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(name = "from", defaultValue = "0") int from,
-            @RequestParam(name = "size", defaultValue = "20") int size) {
-        return itemRequestService.getItemRequestOtherUsers(userId, from, size);
+            @RequestParam(name = "size", defaultValue = "20") int size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        List<ItemRequestWithItemDto> itemRequests = itemRequestService.getItemRequestOtherUsers(
+                userId, from, size, cursor);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (itemRequests.size() == size) {
+            ItemRequestWithItemDto last = itemRequests.get(itemRequests.size() - 1);
+            response.header(PageCursor.NEXT_CURSOR_HEADER, new PageCursor(last.getCreated(), last.getId()).encode());
+        }
+        return response.body(itemRequests);
     }
 
     @PostMapping
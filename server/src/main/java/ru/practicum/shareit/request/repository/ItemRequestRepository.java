@@ -1,7 +1,37 @@
 package ru.practicum.shareit.request.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.PageRequestOverride;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
+
+    List<ItemRequest> findAllByRequestorIdOrderByCreatedDesc(Long requestorId, PageRequestOverride pageRequest);
+
+    @Query("select r " +
+            "from ItemRequest r join fetch r.requestor as us " +
+            "where us.id <> ?1 " +
+            "order by r.created desc, r.id desc")
+    List<ItemRequest> findOtherUsersRequests(
+            Long userId,
+            PageRequestOverride pageRequest);
+
+    @Query("select r " +
+            "from ItemRequest r join fetch r.requestor as us " +
+            "where us.id <> ?1 " +
+            "and (r.created < ?2 or (r.created = ?2 and r.id < ?3)) " +
+            "order by r.created desc, r.id desc")
+    List<ItemRequest> findOtherUsersRequestsBefore(
+            Long userId,
+            LocalDateTime created,
+            Long id,
+            PageRequestOverride pageRequest);
+
+    @Query("select r.id from ItemRequest r where r.id in ?1")
+    List<Long> findExistingIds(Collection<Long> ids);
 }
@@ -7,11 +7,11 @@ import java.util.List;
 
 public interface ItemRequestService {
 
-    List<ItemRequestWithItemDto> getAllItemRequest(Long userId);
+    List<ItemRequestWithItemDto> getAllItemRequest(Long userId, int from, int size);
 
     ItemRequestWithItemDto getItemRequestById(Long userId, Long requestId);
 
-    List<ItemRequestWithItemDto> getItemRequestOtherUsers(Long userId, int from, int size);
+    List<ItemRequestWithItemDto> getItemRequestOtherUsers(Long userId, int from, int size, String cursor);
 
     ItemRequestDto createItemRequest(Long userId, ItemRequestDto itemRequestDto);
 }
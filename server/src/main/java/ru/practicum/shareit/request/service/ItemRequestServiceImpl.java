@@ -4,9 +4,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.PageCursor;
 import ru.practicum.shareit.PageRequestOverride;
+import ru.practicum.shareit.cache.EntityCache;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestWithItemDto;
@@ -14,11 +17,12 @@ import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -26,59 +30,56 @@ import java.util.List;
 public class ItemRequestServiceImpl implements ItemRequestService {
 
     private final ItemRequestRepository itemRequestRepository;
-    private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final EntityCache entityCache;
 
     @Override
-    public List<ItemRequestWithItemDto> getAllItemRequest(Long userId) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException(
-                        String.format("Пользователь %s не существует.", userId)));
-        List<ItemRequestWithItemDto> itemRequestAllList = new ArrayList<>();
-        for (ItemRequest item : itemRequestRepository.findAll()) {
-            ItemRequestWithItemDto itemRequestWithItemDto = ItemRequestMapper.toItemRequestWithItemDto(item);
-            itemRequestWithItemDto.setItems(itemRepository.findByRequestId(item.getId()));
-            itemRequestAllList.add(itemRequestWithItemDto);
+    public List<ItemRequestWithItemDto> getAllItemRequest(Long userId, int from, int size) {
+        if (from < 0 || size <= 0) {
+            log.error("Переданы некорректные значения from и/или size");
+            throw new ValidationException("Переданы некорректные значения from и/или size");
         }
+        PageRequestOverride pageRequest = PageRequestOverride.of(from, size);
+        entityCache.getUser(userId);
+        List<ItemRequestWithItemDto> itemRequestAllList = toItemRequestsWithItems(
+                itemRequestRepository.findAllByRequestorIdOrderByCreatedDesc(userId, pageRequest));
         log.info("Все запросы : {}", itemRequestAllList);
         return itemRequestAllList;
     }
 
     @Override
     public ItemRequestWithItemDto getItemRequestById(Long userId, Long requestId) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException(
-                        String.format("Пользователь %s не существует.", userId)));
+        entityCache.getUser(userId);
 
         ItemRequest itemRequest = itemRequestRepository.findById(requestId)
                 .orElseThrow(() -> new EntityNotFoundException(
                         String.format("Запрос на вещь %s не существует.", requestId)));
-        ItemRequestWithItemDto itemRequestWithItemDto = ItemRequestMapper.toItemRequestWithItemDto(itemRequest);
-        itemRequestWithItemDto.setItems(itemRepository.findByRequestId(itemRequest.getId()));
+        ItemRequestWithItemDto itemRequestWithItemDto = toItemRequestsWithItems(List.of(itemRequest)).get(0);
         log.info("Запрос с id {}", requestId);
         return itemRequestWithItemDto;
     }
 
     @Override
-    public List<ItemRequestWithItemDto> getItemRequestOtherUsers(Long userId, int from, int size) {
+    public List<ItemRequestWithItemDto> getItemRequestOtherUsers(Long userId, int from, int size, String cursor) {
         if (from < 0 || size <= 0) {
             log.error("Переданы некорректные значения from и/или size");
             throw new ValidationException("Переданы некорректные значения from и/или size");
         }
-        PageRequestOverride pageRequest = PageRequestOverride.of(from, size);
-        userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException(
-                        String.format("Пользователь %s не существует.", userId)));
-        List<ItemRequestWithItemDto> itemRequestAllList = new ArrayList<>();
-        for (ItemRequest item : itemRequestRepository.findAll(pageRequest)) {
-            if (!item.getRequestor().getId().equals(userId)) {
-                ItemRequestWithItemDto itemRequestWithItemDto = ItemRequestMapper.toItemRequestWithItemDto(item);
-                itemRequestWithItemDto.setItems(itemRepository.findByRequestId(item.getId()));
-                itemRequestAllList.add(itemRequestWithItemDto);
-            } else {
-                return new ArrayList<>();
-            }
+        entityCache.getUser(userId);
+        List<ItemRequest> itemRequests;
+        if (cursor == null) {
+            itemRequests = itemRequestRepository.findOtherUsersRequests(
+                    userId,
+                    PageRequestOverride.of(from, size));
+        } else {
+            PageCursor pageCursor = PageCursor.decode(cursor);
+            itemRequests = itemRequestRepository.findOtherUsersRequestsBefore(
+                    userId,
+                    pageCursor.getTime(),
+                    pageCursor.getId(),
+                    PageRequestOverride.of(0, size));
         }
+        List<ItemRequestWithItemDto> itemRequestAllList = toItemRequestsWithItems(itemRequests);
         log.info("Все запросы : {}", itemRequestAllList);
         return itemRequestAllList;
     }
@@ -86,9 +87,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     @Transactional
     public ItemRequestDto createItemRequest(Long userId, ItemRequestDto itemRequestDto) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException(
-                        String.format("Пользователь %s не существует.", userId)));
+        User user = entityCache.getUser(userId);
         if (itemRequestDto.getDescription() == null) {
             log.error("Описание для создаваемого запроса не может быть пустым.");
             throw new ValidationException("Описание для создаваемого запроса не может быть пустым.");
@@ -100,4 +99,21 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         log.info("Добавлен запрос :{}", itemRequestCreate);
         return ItemRequestMapper.toItemRequestDto(itemRequestCreate);
     }
-}
\ No newline at end of file
+
+    private List<ItemRequestWithItemDto> toItemRequestsWithItems(List<ItemRequest> itemRequests) {
+        List<ItemRequestWithItemDto> itemRequestsWithItems = new ArrayList<>(itemRequests.size());
+        if (itemRequests.isEmpty()) {
+            return itemRequestsWithItems;
+        }
+        Map<Long, ItemRequestWithItemDto> itemRequestsById = new HashMap<>();
+        for (ItemRequest itemRequest : itemRequests) {
+            ItemRequestWithItemDto itemRequestWithItemDto = ItemRequestMapper.toItemRequestWithItemDto(itemRequest);
+            itemRequestsWithItems.add(itemRequestWithItemDto);
+            itemRequestsById.put(itemRequest.getId(), itemRequestWithItemDto);
+        }
+        for (Item item : itemRepository.findByRequestIdIn(itemRequestsById.keySet())) {
+            itemRequestsById.get(item.getRequestId()).getItems().add(item);
+        }
+        return itemRequestsWithItems;
+    }
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+
+/**
+ * Открывает {@link SqlStatementStats} на время обработчика контроллера, по завершении публикует
+ * shareit.sql.statements и shareit.sql.rows и пишет в лог превышение бюджета и повторы одинакового SQL.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class SqlBudgetInterceptor implements HandlerInterceptor {
+
+    private final SqlBudgetProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (properties.isEnabled() && handler instanceof HandlerMethod) {
+            HandlerMethod method = (HandlerMethod) handler;
+            String endpoint = method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+            SqlStatementStats.start(endpoint, properties.budgetFor(endpoint),
+                    properties.getRepeatThreshold(), properties.isFailFast());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        SqlStatementStats stats = SqlStatementStats.finish();
+        if (stats == null) {
+            return;
+        }
+        DistributionSummary.builder("shareit.sql.statements")
+                .tag("endpoint", stats.getEndpoint())
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        DistributionSummary.builder("shareit.sql.rows")
+                .tag("endpoint", stats.getEndpoint())
+                .register(meterRegistry)
+                .record(stats.getRows());
+        if (stats.isOverBudget()) {
+            meterRegistry.counter("shareit.sql.over-budget", "endpoint", stats.getEndpoint()).increment();
+            log.warn("{} {}: выполнено {} SQL-запросов при бюджете {}, строк {}.", request.getMethod(),
+                    request.getRequestURI(), stats.getStatements(), stats.getBudget(), stats.getRows());
+        }
+        for (Map.Entry<String, Integer> repeated : stats.getRepeated().entrySet()) {
+            log.warn("{} {}: возможный N+1, SQL выполнен {} раз: {}", request.getMethod(),
+                    request.getRequestURI(), repeated.getValue(), repeated.getKey());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.sql;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "shareit.sql-budget")
+public class SqlBudgetProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Бросать исключение сразу при превышении бюджета или повторов, а не только писать в лог.
+     */
+    private boolean failFast = false;
+
+    private int defaultBudget = 10;
+
+    /**
+     * Бюджеты по обработчикам, ключ - КлассКонтроллера.метод, например ItemController.getItems.
+     */
+    private Map<String, Integer> budgets = new HashMap<>();
+
+    /**
+     * Сколько раз один и тот же SQL может выполниться за запрос, прежде чем это считается N+1.
+     */
+    private int repeatThreshold = 5;
+
+    public int budgetFor(String endpoint) {
+        return budgets.getOrDefault(endpoint, defaultBudget);
+    }
+}
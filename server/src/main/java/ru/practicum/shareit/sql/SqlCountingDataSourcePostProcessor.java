@@ -0,0 +1,169 @@
+package ru.practicum.shareit.sql;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Оборачивает DataSource прокси, которые передают выполненные SQL и прочитанные строки
+ * в {@link SqlStatementStats} текущего запроса. Вне HTTP-запроса (Flyway, старт приложения) ничего не считается.
+ * unwrap и isWrapperFor уходят в исходный пул, поэтому метрики Hikari продолжают работать.
+ */
+@Component
+public class SqlCountingDataSourcePostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource && !Proxy.isProxyClass(bean.getClass())) {
+            return proxy(DataSource.class, bean, new DataSourceHandler(bean));
+        }
+        return bean;
+    }
+
+    private static <T> T proxy(Class<T> type, Object target, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(
+                SqlCountingDataSourcePostProcessor.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    /**
+     * Делегирует вызовы исходному объекту. equals и hashCode считаются по самому прокси:
+     * Hibernate хранит открытые Statement и ResultSet в HashMap и удаляет их по тому же прокси.
+     */
+    private abstract static class DelegatingHandler implements InvocationHandler {
+
+        protected final Object target;
+
+        DelegatingHandler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    if (method.getParameterCount() == 0) {
+                        return System.identityHashCode(proxy);
+                    }
+                    break;
+                default:
+                    break;
+            }
+            return handle(method, args);
+        }
+
+        protected abstract Object handle(Method method, Object[] args) throws Throwable;
+
+        protected Object delegate(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+
+    private static class DataSourceHandler extends DelegatingHandler {
+
+        DataSourceHandler(Object target) {
+            super(target);
+        }
+
+        @Override
+        protected Object handle(Method method, Object[] args) throws Throwable {
+            Object result = delegate(method, args);
+            if (result instanceof Connection) {
+                return proxy(Connection.class, result, new ConnectionHandler(result));
+            }
+            return result;
+        }
+    }
+
+    private static class ConnectionHandler extends DelegatingHandler {
+
+        ConnectionHandler(Object target) {
+            super(target);
+        }
+
+        @Override
+        protected Object handle(Method method, Object[] args) throws Throwable {
+            Object result = delegate(method, args);
+            if (result instanceof Statement) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                return proxy(method.getReturnType(), result, new StatementHandler(result, sql));
+            }
+            return result;
+        }
+    }
+
+    private static class StatementHandler extends DelegatingHandler {
+
+        private final String preparedSql;
+
+        StatementHandler(Object target, String preparedSql) {
+            super(target);
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        protected Object handle(Method method, Object[] args) throws Throwable {
+            SqlStatementStats stats = SqlStatementStats.current();
+            String name = method.getName();
+            if (stats == null || !name.startsWith("execute")) {
+                return wrapResultSet(stats, delegate(method, args));
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql;
+            stats.statement(sql == null ? "<batch>" : sql);
+            Object result = delegate(method, args);
+            if (result instanceof Integer) {
+                stats.rows((Integer) result);
+            } else if (result instanceof Long) {
+                stats.rows((Long) result);
+            } else if (result instanceof int[]) {
+                for (int count : (int[]) result) {
+                    stats.rows(Math.max(0, count));
+                }
+            } else if (result instanceof long[]) {
+                for (long count : (long[]) result) {
+                    stats.rows(Math.max(0, count));
+                }
+            }
+            return wrapResultSet(stats, result);
+        }
+
+        private static Object wrapResultSet(SqlStatementStats stats, Object result) {
+            if (stats != null && result instanceof ResultSet) {
+                return proxy(ResultSet.class, result, new ResultSetHandler(result, stats));
+            }
+            return result;
+        }
+    }
+
+    private static class ResultSetHandler extends DelegatingHandler {
+
+        private final SqlStatementStats stats;
+
+        ResultSetHandler(Object target, SqlStatementStats stats) {
+            super(target);
+            this.stats = stats;
+        }
+
+        @Override
+        protected Object handle(Method method, Object[] args) throws Throwable {
+            Object result = delegate(method, args);
+            if (Boolean.TRUE.equals(result) && "next".equals(method.getName())) {
+                stats.rows(1);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.sql;
+
+import lombok.Getter;
+import ru.practicum.shareit.exception.SqlBudgetExceededException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Счётчики SQL текущего HTTP-запроса: число выполненных запросов, строк и повторы одинакового SQL.
+ * Живёт в ThreadLocal с начала обработки запроса до её завершения.
+ */
+@Getter
+public class SqlStatementStats {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private final String endpoint;
+    private final int budget;
+    private final int repeatThreshold;
+    private final boolean failFast;
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+    private int statements;
+    private long rows;
+
+    private SqlStatementStats(String endpoint, int budget, int repeatThreshold, boolean failFast) {
+        this.endpoint = endpoint;
+        this.budget = budget;
+        this.repeatThreshold = repeatThreshold;
+        this.failFast = failFast;
+    }
+
+    public static void start(String endpoint, int budget, int repeatThreshold, boolean failFast) {
+        CURRENT.set(new SqlStatementStats(endpoint, budget, repeatThreshold, failFast));
+    }
+
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    public static SqlStatementStats finish() {
+        SqlStatementStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    void statement(String sql) {
+        statements++;
+        int executions = executionsBySql.merge(sql, 1, Integer::sum);
+        if (!failFast) {
+            return;
+        }
+        if (statements > budget) {
+            throw new SqlBudgetExceededException(String.format(
+                    "Обработчик %s превысил бюджет SQL-запросов %d.", endpoint, budget));
+        }
+        if (executions > repeatThreshold) {
+            throw new SqlBudgetExceededException(String.format(
+                    "Обработчик %s выполнил один и тот же SQL %d раз: %s", endpoint, executions, sql));
+        }
+    }
+
+    void rows(long count) {
+        rows += count;
+    }
+
+    public boolean isOverBudget() {
+        return statements > budget;
+    }
+
+    /**
+     * SQL, выполненные больше repeatThreshold раз, - признак N+1.
+     */
+    public Map<String, Integer> getRepeated() {
+        return executionsBySql.entrySet().stream()
+                .filter(entry -> entry.getValue() > repeatThreshold)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+}
@@ -5,6 +5,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.cache.EntityCache;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -21,6 +22,7 @@ import java.util.List;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final EntityCache entityCache;
 
     @Override
     public List<UserDto> getAllUsers() {
@@ -63,6 +65,7 @@ public class UserServiceImpl implements UserService {
     public void removeUser(Long id) {
         log.info("Удалён пользователь : {}", id);
         userRepository.deleteById(id);
+        entityCache.evictUser(id);
     }
 
     @Override
@@ -72,6 +75,7 @@ public class UserServiceImpl implements UserService {
         final User userUpdate = userRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(
                         String.format("Пользователь %s не существует.", id)));
+        entityCache.evictUser(id);
         if (user.getEmail() != null && user.getName() == null) {
             userUpdate.setEmail(user.getEmail());
             userRepository.save(userUpdate);
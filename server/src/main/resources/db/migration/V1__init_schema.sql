@@ -1,5 +1,3 @@
-DROP TABLE IF EXISTS users,requests,items,bookings,comments;
-
 CREATE TABLE IF NOT EXISTS users
 (
     user_id   BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
@@ -55,4 +53,4 @@ CREATE TABLE IF NOT EXISTS comments
     CONSTRAINT pk_comment PRIMARY KEY (comment_id),
     CONSTRAINT fk_item_id_comments FOREIGN KEY (item_id) REFERENCES items (item_id),
     CONSTRAINT fk_author_id_comments FOREIGN KEY (author_id) REFERENCES users (user_id)
-);
\ No newline at end of file
+);
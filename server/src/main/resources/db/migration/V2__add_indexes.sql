@@ -0,0 +1,10 @@
+CREATE INDEX IF NOT EXISTS idx_requests_requestor_id ON requests (requestor_id, created);
+CREATE INDEX IF NOT EXISTS idx_requests_created ON requests (created, request_id);
+CREATE INDEX IF NOT EXISTS idx_items_owner_id ON items (owner_id, item_id);
+CREATE INDEX IF NOT EXISTS idx_items_request_id ON items (request_id);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_id ON bookings (booker_id, start_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_id_status ON bookings (booker_id, status, start_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_id ON bookings (item_id, start_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_id_status ON bookings (item_id, status, start_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_id_end ON bookings (item_id, end_date);
+CREATE INDEX IF NOT EXISTS idx_comments_item_id ON comments (item_id, created);
@@ -0,0 +1,2 @@
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_id_start_id ON bookings (booker_id, start_date, booking_id);
+DROP INDEX IF EXISTS idx_bookings_booker_id;
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.booking.index;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookingIntervalIndexTest {
+
+    private static final Long ITEM_ID = 1L;
+    private static final LocalDateTime BASE = LocalDateTime.now().plusDays(1).withNano(0);
+
+    private final BookingIntervalIndex index = new BookingIntervalIndex(null);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void reserveRejectsOverlappingWindow() {
+        assertNotNull(index.reserve(ITEM_ID, hour(0), hour(2)));
+
+        assertNull(index.reserve(ITEM_ID, hour(1), hour(3)));
+        assertFalse(index.isFree(ITEM_ID, hour(1), hour(3)));
+        assertTrue(index.isFree(ITEM_ID, hour(2), hour(3)));
+        assertNotNull(index.reserve(ITEM_ID, hour(2), hour(3)));
+        assertTrue(index.isFree(2L, hour(0), hour(3)));
+    }
+
+    @Test
+    void prefixMaxFindsLongIntervalBehindShortOnes() {
+        assertNotNull(index.reserve(ITEM_ID, hour(0), hour(100)));
+        assertNotNull(index.reserve(2L, hour(1), hour(2)));
+        for (int i = 0; i < 10; i++) {
+            assertNull(index.reserve(ITEM_ID, hour(10 + i), hour(11 + i)));
+        }
+
+        assertFalse(index.isFree(ITEM_ID, hour(99), hour(101)));
+        assertTrue(index.isFree(ITEM_ID, hour(100), hour(101)));
+    }
+
+    @Test
+    void isFreeDoesNotReserve() {
+        assertTrue(index.isFree(ITEM_ID, hour(0), hour(2)));
+        assertTrue(index.isFree(ITEM_ID, hour(0), hour(2)));
+
+        assertNotNull(index.reserve(ITEM_ID, hour(0), hour(2)));
+    }
+
+    @Test
+    void removeReleasesConfirmedWindow() {
+        index.reserve(ITEM_ID, hour(0), hour(2)).confirm(10L);
+        assertTrue(index.contains(10L));
+
+        index.remove(10L);
+
+        assertFalse(index.contains(10L));
+        assertTrue(index.isFree(ITEM_ID, hour(0), hour(2)));
+    }
+
+    @Test
+    void rollbackReleasesReservation() {
+        TransactionSynchronizationManager.initSynchronization();
+        BookingIntervalIndex.Reservation reservation = index.reserve(ITEM_ID, hour(0), hour(2));
+        assertNotNull(reservation);
+        reservation.confirm(10L);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(
+                        TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertFalse(index.contains(10L));
+        assertTrue(index.isFree(ITEM_ID, hour(0), hour(2)));
+    }
+
+    @Test
+    void commitKeepsReservation() {
+        TransactionSynchronizationManager.initSynchronization();
+        index.reserve(ITEM_ID, hour(0), hour(2)).confirm(10L);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(
+                        TransactionSynchronization.STATUS_COMMITTED));
+
+        assertTrue(index.contains(10L));
+        assertFalse(index.isFree(ITEM_ID, hour(1), hour(3)));
+    }
+
+    private static LocalDateTime hour(int hours) {
+        return BASE.plusHours(hours);
+    }
+}
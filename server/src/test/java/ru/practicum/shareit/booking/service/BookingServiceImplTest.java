@@ -0,0 +1,71 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.exception.BookingException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class BookingServiceImplTest {
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+
+    private Long ownerId;
+    private Long itemId;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void createItem() {
+        ownerId = createUser();
+        itemId = itemService.createItem(new ItemDto(null, "Дрель", "Ударная дрель", true, null), ownerId).getId();
+        start = LocalDateTime.now().plusDays(1).withNano(0);
+    }
+
+    @Test
+    void approveAfterRejectFailsWhenWindowWasTaken() {
+        BookingDto rejected = book(createUser(), start, start.plusDays(2));
+        bookingService.patchBooking(ownerId, rejected.getId(), false);
+        BookingDto other = book(createUser(), start.plusDays(1), start.plusDays(3));
+
+        assertThrows(BookingException.class, () -> bookingService.patchBooking(ownerId, rejected.getId(), true));
+        assertEquals(Status.APPROVED, bookingService.patchBooking(ownerId, other.getId(), true).getStatus());
+    }
+
+    @Test
+    void approveAfterRejectTakesWindowAgain() {
+        BookingDto rejected = book(createUser(), start, start.plusDays(2));
+        bookingService.patchBooking(ownerId, rejected.getId(), false);
+
+        assertEquals(Status.APPROVED, bookingService.patchBooking(ownerId, rejected.getId(), true).getStatus());
+        Long bookerId = createUser();
+        assertThrows(BookingException.class, () -> book(bookerId, start.plusDays(1), start.plusDays(3)));
+    }
+
+    private BookingDto book(Long bookerId, LocalDateTime bookingStart, LocalDateTime bookingEnd) {
+        return bookingService.createBooking(bookerId, new BookingCreateDto(null, bookingStart, bookingEnd, itemId));
+    }
+
+    private Long createUser() {
+        String name = UUID.randomUUID().toString();
+        return userService.createUser(new UserDto(null, name + "@mail.ru", name)).getId();
+    }
+}
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.item.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemSearchIndexTest {
+
+    private final ItemSearchIndex index = new ItemSearchIndex(null);
+
+    @BeforeEach
+    void fillIndex() {
+        index.put(new ItemDto(1L, "Дрель", "Ударная дрель с набором свёрл", true, null));
+        index.put(new ItemDto(2L, "Отвёртка", "Аккумуляторная отвёртка", true, null));
+        index.put(new ItemDto(3L, "Дрель-миксер", "Для строительных смесей", true, null));
+        index.put(new ItemDto(4L, "Старая дрель", "Не работает", false, null));
+        index.put(new ItemDto(5L, "Клей", "Клей для обоев", true, null));
+    }
+
+    @Test
+    void findsSubstringInsideTerm() {
+        assertEquals(List.of(1L, 3L), index.search("РЕЛ", 0, 10));
+        assertEquals(List.of(2L), index.search("кумулятор", 0, 10));
+    }
+
+    @Test
+    void findsPhraseAcrossTerms() {
+        assertEquals(List.of(1L), index.search("ная дре", 0, 10));
+        assertEquals(List.of(1L), index.search("дрель с наб", 0, 10));
+        assertEquals(List.of(3L), index.search("ль-мик", 0, 10));
+        assertEquals(List.of(5L), index.search("ей для о", 0, 10));
+    }
+
+    @Test
+    void middleTokenMustMatchWholeTerm() {
+        assertEquals(List.of(1L), index.search("ль с на", 0, 10));
+        assertTrue(index.search("ль с наборами", 0, 10).isEmpty());
+    }
+
+    @Test
+    void skipsUnavailableItems() {
+        assertTrue(index.search("старая", 0, 10).isEmpty());
+    }
+
+    @Test
+    void queryWithoutWordsFindsNothing() {
+        assertTrue(index.search(" ", 0, 10).isEmpty());
+        assertTrue(index.search("-!", 0, 10).isEmpty());
+    }
+
+    @Test
+    void pagesAfterFiltering() {
+        index.put(new ItemDto(6L, "Дрель", "Ещё одна", true, null));
+
+        assertEquals(List.of(1L, 3L, 6L), index.search("дрель", 0, 10));
+        assertEquals(List.of(3L), index.search("дрель", 1, 1));
+        assertEquals(List.of(6L), index.search("дрель", 2, 5));
+    }
+
+    @Test
+    void matchesSubstringSearchOnRandomTexts() {
+        Random random = new Random(42);
+        ItemSearchIndex randomIndex = new ItemSearchIndex(null);
+        List<String> texts = new ArrayList<>();
+        for (long id = 1; id <= 200; id++) {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < 12; i++) {
+                text.append("аб в-".charAt(random.nextInt(5)));
+            }
+            texts.add(text.toString());
+            randomIndex.put(new ItemDto(id, text.toString(), "", true, null));
+        }
+        for (int i = 0; i < 500; i++) {
+            String text = texts.get(random.nextInt(texts.size()));
+            int start = random.nextInt(text.length());
+            String query = text.substring(start, start + 1 + random.nextInt(text.length() - start));
+            List<Long> expected = new ArrayList<>();
+            if (!ItemSearchIndex.tokenize(query).isEmpty()) {
+                for (int id = 1; id <= texts.size(); id++) {
+                    if (texts.get(id - 1).contains(query)) {
+                        expected.add((long) id);
+                    }
+                }
+            }
+            assertEquals(expected, randomIndex.search(query, 0, texts.size()), query);
+        }
+    }
+
+    @Test
+    void updateAndRemoveChangeResults() {
+        index.put(new ItemDto(5L, "Герметик", "Силиконовый", true, null));
+        index.remove(2L);
+
+        assertTrue(index.search("клей", 0, 10).isEmpty());
+        assertTrue(index.search("отвёрт", 0, 10).isEmpty());
+        assertEquals(List.of(5L), index.search("силикон", 0, 10));
+    }
+}
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.item.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemSuggestIndexTest {
+
+    private static final int TOP_SIZE = 3;
+
+    private final ItemSuggestIndex index = new ItemSuggestIndex(null);
+
+    @BeforeEach
+    void setTopSize() {
+        ReflectionTestUtils.setField(index, "topSize", TOP_SIZE);
+    }
+
+    @Test
+    void ranksByCountThenName() {
+        index.put(new ItemDto(1L, "Дрель", "", true, null));
+        index.put(new ItemDto(2L, "дрель", "", true, null));
+        index.put(new ItemDto(3L, "Древесина", "", true, null));
+        index.put(new ItemDto(4L, "Дрезина", "", true, null));
+        index.put(new ItemDto(5L, "Дротик", "", false, null));
+
+        assertEquals(List.of("Дрель", "Древесина", "Дрезина"), index.suggest("ДР", 10));
+        assertEquals(List.of("Дрель", "Древесина"), index.suggest("дре", 2));
+        assertTrue(index.suggest("дро", 10).isEmpty());
+    }
+
+    @Test
+    void updateMovesNameToNewPrefix() {
+        index.put(new ItemDto(1L, "Дрель", "", true, null));
+        index.put(new ItemDto(1L, "Пила", "", true, null));
+
+        assertTrue(index.suggest("др", 10).isEmpty());
+        assertEquals(List.of("Пила"), index.suggest("п", 10));
+    }
+
+    @Test
+    void removingAllNamesPrunesTree() {
+        index.put(new ItemDto(1L, "Дрель", "", true, null));
+        index.put(new ItemDto(2L, "Дрезина", "", true, null));
+        index.put(new ItemDto(3L, "Пила", "", true, null));
+
+        index.remove(2L);
+        assertEquals(List.of("Дрель"), index.suggest("дре", 10));
+
+        index.remove(1L);
+        index.remove(3L);
+        assertNull(ReflectionTestUtils.getField(index, "root"));
+        assertTrue(index.suggest("д", 10).isEmpty());
+    }
+
+    @Test
+    void matchesFullScanOnRandomUpdates() {
+        Random random = new Random(7);
+        Map<Long, String> names = new HashMap<>();
+        for (int step = 0; step < 3000; step++) {
+            long id = random.nextInt(60);
+            if (random.nextInt(4) == 0) {
+                index.remove(id);
+                names.remove(id);
+            } else {
+                String name = randomName(random, 4);
+                index.put(new ItemDto(id, name, "", true, null));
+                names.put(id, name);
+            }
+            String prefix = randomName(random, 2);
+            int size = 1 + random.nextInt(TOP_SIZE * 2);
+            assertEquals(expected(names, prefix, size), index.suggest(prefix, size), prefix + " " + size);
+        }
+    }
+
+    private static String randomName(Random random, int maxLength) {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0, length = 1 + random.nextInt(maxLength); i < length; i++) {
+            name.append("абв".charAt(random.nextInt(3)));
+        }
+        return name.toString();
+    }
+
+    private static List<String> expected(Map<Long, String> names, String prefix, int size) {
+        Map<String, Long> counts = names.values().stream()
+                .filter(name -> name.startsWith(prefix))
+                .collect(Collectors.groupingBy(name -> name, Collectors.counting()));
+        List<String> ranked = new ArrayList<>(counts.keySet());
+        ranked.sort(Comparator.<String>comparingLong(counts::get).reversed().thenComparing(name -> name));
+        return ranked.subList(0, Math.min(size, ranked.size()));
+    }
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.sql;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.exception.SqlBudgetExceededException;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "shareit.sql-budget.fail-fast=true",
+        "shareit.sql-budget.repeat-threshold=5"
+})
+@AutoConfigureMockMvc
+@Import(SqlBudgetFailFastTest.UserLookupController.class)
+class SqlBudgetFailFastTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void repeatedSqlFailsRequest() throws Exception {
+        String ids = createUsers(6);
+
+        MvcResult result = mockMvc.perform(get("/test/users").param("ids", ids))
+                .andExpect(status().isInternalServerError())
+                .andReturn();
+
+        assertInstanceOf(SqlBudgetExceededException.class, result.getResolvedException());
+    }
+
+    @Test
+    void requestWithinThresholdSucceeds() throws Exception {
+        String ids = createUsers(5);
+
+        mockMvc.perform(get("/test/users").param("ids", ids))
+                .andExpect(status().isOk());
+    }
+
+    private String createUsers(int count) {
+        return LongStream.range(0, count)
+                .mapToObj(i -> String.valueOf(userService.createUser(user()).getId()))
+                .collect(Collectors.joining(","));
+    }
+
+    private static UserDto user() {
+        String name = UUID.randomUUID().toString();
+        return new UserDto(null, name + "@mail.ru", name);
+    }
+
+    /**
+     * Обработчик с N+1: каждый пользователь читается отдельным запросом.
+     */
+    @RestController
+    @RequiredArgsConstructor
+    static class UserLookupController {
+
+        private final UserRepository userRepository;
+
+        @GetMapping("/test/users")
+        public List<String> getUsers(@RequestParam List<Long> ids) {
+            return ids.stream()
+                    .map(id -> userRepository.findById(id).map(User::getName).orElse(null))
+                    .collect(Collectors.toList());
+        }
+    }
+}